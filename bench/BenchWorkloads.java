@@ -0,0 +1,105 @@
+import java.io.*;
+import java.nio.file.Path;
+import benchmarks.Workloads;
+
+/**
+ * Implements the benchmark workloads with the game's own classes. See benchmarks.Workloads.
+ */
+public class BenchWorkloads implements Workloads {
+
+    @Override
+    public Deck newDeck(String deckType, int capacity) {
+        CardDeck deck = GameConfig.DeckType.valueOf(deckType) == GameConfig.DeckType.SPSC
+                ? new SpscCardDeck(1, null, capacity)
+                : new CardDeck(1, null);
+        return new Deck() {
+            @Override
+            public void addCard(int denom) {
+                deck.addCard(Card.valueOf(denom));
+            }
+
+            @Override
+            public int removeCard() {
+                return deck.removeCard().getDenom();
+            }
+
+            @Override
+            public int size() {
+                return deck.getDeckSize();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return deck.isDeckEmpty();
+            }
+        };
+    }
+
+
+    @Override
+    public Hand newPlayer(File gameFolder, boolean asyncLogging) {
+        GameConfig config = gameFolder == null
+                ? new GameConfig().setHeadless(true)
+                : new GameConfig().setAsyncLogging(asyncLogging);
+        GameContext context = new GameContext(config);
+        Player player = new Player(1, gameFolder, new CardDeck(1, null), new CardDeck(2, null), context, new Player[0]);
+        // A hand that has not won, with one card of the preferred denomination
+        for (int denom : new int[] {1, 2, 3, 4}) {
+            player.addCardToHand(Card.valueOf(denom));
+        }
+        return new Hand() {
+            @Override
+            public boolean hasWon() {
+                return player.hasWon();
+            }
+
+            @Override
+            public int discardCard() {
+                return player.discardCard().getDenom();
+            }
+
+            @Override
+            public void addCardToHand(int denom) {
+                player.addCardToHand(Card.valueOf(denom));
+            }
+
+            @Override
+            public void logAction(String action) {
+                player.logAction(action);
+            }
+
+            @Override
+            public void close() throws IOException {
+                player.closeLog();
+                context.closeLogs();
+            }
+        };
+    }
+
+
+    @Override
+    public int[] loadPack(String packFilePath, int numOfPlayers) {
+        return CardGame.loadPack(packFilePath, numOfPlayers);
+    }
+
+
+    @Override
+    public Object mapBinaryPack(Path packFile) throws IOException {
+        return BinaryPack.map(packFile);
+    }
+
+
+    @Override
+    public void writeBinaryPack(Path packFile, int[] pack) throws IOException {
+        BinaryPack.write(packFile, pack);
+    }
+
+
+    @Override
+    public long runGame(int[] pack, int numOfPlayers, String deckType, String threadMode) throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true)
+                .setDeckType(GameConfig.DeckType.valueOf(deckType))
+                .setThreadMode(GameConfig.ThreadMode.valueOf(threadMode));
+        return CardGame.runGame(pack, numOfPlayers, config).getTotalTurns();
+    }
+}
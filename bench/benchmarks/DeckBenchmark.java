@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the deck draw and discard paths when several threads use the same deck.
+ * "contended" has four threads drawing and discarding on one shared deck, which only the
+ * synchronized deck supports. "handoff" is the shape of a real game: one player discards
+ * into the deck while its neighbour draws from it, for both deck implementations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+
+    private static final int DECK_SIZE = 64;
+
+    @State(Scope.Group)
+    public static class SharedDeck {
+        Workloads.Deck deck;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            deck = Workloads.load().newDeck("SYNCHRONIZED", DECK_SIZE);
+            for (int i = 0; i < DECK_SIZE; i++) {
+                deck.addCard(i % 8);
+            }
+        }
+    }
+
+    @State(Scope.Group)
+    public static class HandoffDeck {
+        @Param({"SYNCHRONIZED", "SPSC"})
+        String deckType;
+
+        Workloads.Deck deck;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            deck = Workloads.load().newDeck(deckType, DECK_SIZE);
+        }
+    }
+
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public void drawThenDiscard(SharedDeck state) {
+        // Every thread puts back the card it drew, so the deck never runs dry
+        state.deck.addCard(state.deck.removeCard());
+    }
+
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void discard(HandoffDeck state) {
+        // Only discard while there is room, so the SPSC producer never spins past the end of an iteration
+        if (state.deck.size() < DECK_SIZE) {
+            state.deck.addCard(1);
+        }
+    }
+
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void draw(HandoffDeck state, Blackhole blackhole) {
+        if (!state.deck.isEmpty()) {
+            blackhole.consume(state.deck.removeCard());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks whole headless games, from dealing to the last player stopping, for rings of
+ * 2 to 1024 players. Besides the time per game, the "turns" counter reports the turns played in each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameBenchmark {
+
+    @Param({"2", "8", "64", "1024"})
+    int numOfPlayers;
+
+    @Param({"SYNCHRONIZED", "SPSC"})
+    String deckType;
+
+    @Param({"PLATFORM"})
+    String threadMode;
+
+    Workloads workloads;
+    int[] pack;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TurnCounter {
+        public long turns;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            turns = 0;
+        }
+    }
+
+
+    @Setup
+    public void setUp() {
+        workloads = Workloads.load();
+        pack = pack(numOfPlayers);
+    }
+
+
+    @Benchmark
+    public long runGame(TurnCounter counter) throws InterruptedException {
+        long turns = workloads.runGame(pack, numOfPlayers, deckType, threadMode);
+        counter.turns += turns;
+        return turns;
+    }
+
+
+    /**
+     * Returns a valid pack for a ring of players: four cards of each denomination from 1 to 2N.
+     * @param numOfPlayers the number of players
+     * @return the pack, 8 cards per player
+     */
+    static int[] pack(int numOfPlayers) {
+        int[] pack = new int[8 * numOfPlayers];
+        for (int i = 0; i < pack.length; i++) {
+            pack[i] = i / 4 + 1;
+        }
+        return pack;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks loading a pack at the start of a game, from a text pack and from a binary pack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackLoadBenchmark {
+
+    @Param({"2", "8", "64", "1024"})
+    int numOfPlayers;
+
+    Workloads workloads;
+    Path folder;
+    Path textPack;
+    Path binaryPack;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        workloads = Workloads.load();
+        folder = Files.createTempDirectory("pack-bench");
+        int[] pack = GameBenchmark.pack(numOfPlayers);
+        StringBuilder text = new StringBuilder();
+        for (int denom : pack) {
+            text.append(denom).append('\n');
+        }
+        textPack = folder.resolve("pack.txt");
+        Files.write(textPack, text.toString().getBytes());
+        binaryPack = folder.resolve("pack.bin");
+        workloads.writeBinaryPack(binaryPack, pack);
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(textPack);
+        Files.delete(binaryPack);
+        Files.delete(folder);
+    }
+
+
+    @Benchmark
+    public int[] loadTextPack() {
+        return workloads.loadPack(textPack.toString(), numOfPlayers);
+    }
+
+
+    @Benchmark
+    public int[] loadBinaryPack() {
+        return workloads.loadPack(binaryPack.toString(), numOfPlayers);
+    }
+
+
+    @Benchmark
+    public Object mapBinaryPack() throws IOException {
+        return workloads.mapBinaryPack(binaryPack);
+    }
+}
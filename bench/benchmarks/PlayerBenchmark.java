@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the per-turn work a player does on its own hand: the win check, choosing and
+ * discarding a card, and writing one line to its output file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    @State(Scope.Thread)
+    public static class HandState {
+        Workloads.Hand player;
+
+        @Setup
+        public void setUp() {
+            player = Workloads.load().newPlayer(null, false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LogState {
+        @Param({"true", "false"})
+        boolean asyncLogging;
+
+        File gameFolder;
+        Workloads.Hand player;
+        PrintStream console;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            // Player output is echoed to the console, which would flood the benchmark output
+            console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            gameFolder = Files.createTempDirectory("player-bench").toFile();
+            player = Workloads.load().newPlayer(gameFolder, asyncLogging);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            player.close();
+            System.setOut(console);
+            for (File file : gameFolder.listFiles()) {
+                file.delete();
+            }
+            gameFolder.delete();
+        }
+    }
+
+
+    @Benchmark
+    public boolean hasWon(HandState state) {
+        return state.player.hasWon();
+    }
+
+
+    @Benchmark
+    public int discardCard(HandState state) {
+        // Put the discarded card back, so the hand keeps the same shape between calls
+        int denom = state.player.discardCard();
+        state.player.addCardToHand(denom);
+        return denom;
+    }
+
+
+    @Benchmark
+    public void logAction(LogState state) {
+        state.player.logAction("draws 3 from Deck 1");
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The game operations the benchmarks measure. JMH only accepts benchmarks in a named package,
+ * and a named package cannot refer to the game's classes in the default package, so the
+ * benchmarks call the game through this interface. BenchWorkloads, in the default package,
+ * implements it and is loaded by name; each call site sees one implementation, so the JIT
+ * inlines through it.
+ */
+public interface Workloads {
+
+    /**
+     * Returns the default-package implementation.
+     * @return the workloads
+     */
+    static Workloads load() {
+        try {
+            return (Workloads) Class.forName("BenchWorkloads").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("BenchWorkloads must be on the classpath with the game classes.", e);
+        }
+    }
+
+    /**
+     * A deck, as seen by the benchmarks.
+     */
+    interface Deck {
+        void addCard(int denom);
+        int removeCard();
+        int size();
+        boolean isEmpty();
+    }
+
+    /**
+     * A player with a four-card hand, as seen by the benchmarks.
+     */
+    interface Hand {
+        boolean hasWon();
+        int discardCard();
+        void addCardToHand(int denom);
+        void logAction(String action);
+        void close() throws IOException;
+    }
+
+    Deck newDeck(String deckType, int capacity);
+
+    Hand newPlayer(File gameFolder, boolean asyncLogging);
+
+    int[] loadPack(String packFilePath, int numOfPlayers);
+
+    Object mapBinaryPack(Path packFile) throws IOException;
+
+    void writeBinaryPack(Path packFile, int[] pack) throws IOException;
+
+    /**
+     * Runs one headless game.
+     * @return the total number of turns taken
+     */
+    long runGame(int[] pack, int numOfPlayers, String deckType, String threadMode) throws InterruptedException;
+}
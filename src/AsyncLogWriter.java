@@ -0,0 +1,267 @@
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class moves log file writing off the player threads. Players put their log text on
+ * a queue and return straight away; a single background thread drains the queue in batches,
+ * writes each record to its file and then flushes every file it touched once per batch.
+ * Console echo is also done by the background thread, one print per batch.
+ *
+ * The queue is bounded. If the disk stalls and the queue fills, players wait for room instead
+ * of letting queued text use up the heap, so a slow disk slows the game rather than ending it.
+ */
+public class AsyncLogWriter implements Closeable {
+
+    private static final int MAX_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = 1_000_000; //1 ms
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final int DEFAULT_CAPACITY = 64 * 1024; //records; well beyond a batch, so players rarely wait
+    private static final long FULL_WAIT_MILLIS = 100; //how often a waiting player checks the writer is still running
+
+    private final BlockingQueue<Record> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public AsyncLogWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer whose queue holds at most the given number of records.
+     * @param capacity the most records queued before writers wait
+     */
+    AsyncLogWriter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be a positive number.");
+        }
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::drain, "async-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Opens a file whose writes go through this writer's queue.
+     * @param file the file to write to
+     * @param append true to add to the end of an existing file, false to replace it
+     * @param echoToConsole true to also print everything written to the file
+     * @return a sink for the file
+     * @throws IOException if the file cannot be opened
+     */
+    public LogSink open(File file, boolean append, boolean echoToConsole) throws IOException {
+        return new Sink(file, new BufferedWriter(new FileWriter(file, append), BUFFER_SIZE), echoToConsole);
+    }
+
+
+    /**
+     * Writes out and flushes everything still queued, then stops the background thread.
+     * Files should be closed through their sinks before the writer itself is closed.
+     * @throws IOException if the writer was interrupted while waiting for the queue to drain
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the log writer.");
+        }
+    }
+
+
+    /**
+     * Queues a record, waiting for room if the queue is full. The wait is not cut short by an
+     * interrupt, which is restored afterwards, so no line is lost; it ends early only if the
+     * background thread has stopped and will never make room.
+     */
+    private void enqueue(Record record) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (queue.offer(record, FULL_WAIT_MILLIS, TimeUnit.MILLISECONDS) || !writerThread.isAlive()) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (idle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+
+    /**
+     * Background loop: takes up to MAX_BATCH records at a time, writes them,
+     * then group-flushes the files and the console once for the whole batch.
+     */
+    private void drain() {
+        List<Sink> dirty = new ArrayList<>();
+        StringBuilder echo = new StringBuilder();
+        while (true) {
+            Record record = queue.poll();
+            if (record == null) {
+                if (!running && queue.isEmpty()) {
+                    break;
+                }
+                idle = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            int batched = 0;
+            do {
+                process(record, dirty, echo);
+            } while (++batched < MAX_BATCH && (record = queue.poll()) != null);
+
+            for (Sink sink : dirty) {
+                sink.flush();
+            }
+            dirty.clear();
+            if (echo.length() > 0) {
+                System.out.print(echo); // manual terminal inspection
+                echo.setLength(0);
+            }
+        }
+    }
+
+
+    private void process(Record record, List<Sink> dirty, StringBuilder echo) {
+        Sink sink = record.sink;
+        if (record.closed != null) {
+            sink.closeNow(record);
+            return;
+        }
+        if (sink.closed) {
+            return;
+        }
+        sink.writeNow(record.text);
+        if (!sink.dirty) {
+            sink.dirty = true;
+            dirty.add(sink);
+        }
+        if (sink.echoToConsole) {
+            echo.append(record.text);
+        }
+    }
+
+
+    /**
+     * A queued piece of log text, or a request to close a file once everything before it is written.
+     */
+    private static final class Record {
+        final Sink sink;
+        final String text;
+        final CountDownLatch closed;
+        IOException failure;
+
+        Record(Sink sink, String text, CountDownLatch closed) {
+            this.sink = sink;
+            this.text = text;
+            this.closed = closed;
+        }
+    }
+
+
+    /**
+     * A file written by the background thread. Only that thread touches the writer.
+     */
+    private final class Sink implements LogSink {
+        private final File file;
+        private final BufferedWriter writer;
+        private final boolean echoToConsole;
+        private boolean dirty;
+        private boolean failed;
+        private volatile boolean closed;
+
+        Sink(File file, BufferedWriter writer, boolean echoToConsole) {
+            this.file = file;
+            this.writer = writer;
+            this.echoToConsole = echoToConsole;
+        }
+
+        @Override
+        public void write(String text) {
+            enqueue(new Record(this, text, null));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (!writerThread.isAlive()) {
+                closed = true;
+                writer.close();
+                return;
+            }
+            Record request = new Record(this, null, new CountDownLatch(1));
+            enqueue(request);
+            try {
+                request.closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing " + file.getName());
+            }
+            if (request.failure != null) {
+                throw request.failure;
+            }
+        }
+
+        void writeNow(String text) {
+            try {
+                writer.write(text);
+            } catch (IOException e) {
+                reportFailure();
+            }
+        }
+
+        void flush() {
+            dirty = false;
+            if (closed) {
+                return;
+            }
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                reportFailure();
+            }
+        }
+
+        void closeNow(Record request) {
+            try {
+                if (!closed) {
+                    closed = true;
+                    writer.close();
+                }
+            } catch (IOException e) {
+                request.failure = e;
+            } finally {
+                request.closed.countDown();
+            }
+        }
+
+        private void reportFailure() {
+            if (!failed) {
+                failed = true;
+                System.out.println("Failed to write log file " + file.getName());
+            }
+        }
+    }
+}
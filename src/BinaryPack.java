@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class reads and writes card packs in a compact binary format, so batch runs can load
+ * a pack without tokenizing text. The file starts with a 16-byte header (magic, version,
+ * number of cards, CRC32 of the card bytes) followed by one big-endian int per card.
+ * Reading maps the file and views the cards in place as an IntBuffer; nothing is parsed.
+ *
+ * Usage: java BinaryPack path/to/pack.txt numOfPlayers [path/to/pack.bin]
+ */
+public final class BinaryPack {
+
+    static final int MAGIC = 0x4347504B; //"CGPK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private BinaryPack() {
+    }
+
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java BinaryPack <pack.txt> <number of players> [pack.bin]");
+            return;
+        }
+        Path textPack = Paths.get(args[0]);
+        Path binaryPack = Paths.get(args.length > 2 ? args[2] : args[0].replaceFirst("\\.txt$", "") + ".bin");
+        try {
+            int numOfPlayers = Integer.parseInt(args[1]);
+            if (numOfPlayers < 2 || numOfPlayers > Integer.MAX_VALUE / 8) {
+                System.out.println("Invalid number of players. Please enter a number greater than or equal to 2.");
+                return;
+            }
+            int[] pack = PackReader.read(textPack, 8 * numOfPlayers);
+            write(binaryPack, pack);
+            System.out.println("Binary pack written to: " + binaryPack.toAbsolutePath());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input type. Please enter a valid number of players (e.g. 2).");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Failed to convert pack: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Writes a pack in the binary format.
+     *
+     * @param packFile the file to write
+     * @param pack the card denominations
+     * @throws IllegalArgumentException if the pack contains negative denominations
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path packFile, int[] pack) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * pack.length);
+        buffer.position(HEADER_BYTES);
+        for (int denom : pack) {
+            if (denom < 0) {
+                throw new IllegalArgumentException(PackReader.NEGATIVE_MESSAGE);
+            }
+            buffer.putInt(denom);
+        }
+        buffer.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, pack.length).putInt(12, (int) crc.getValue());
+        buffer.rewind();
+
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+
+    /**
+     * Checks if a file starts with the binary pack magic number.
+     *
+     * @param packFile the file to check
+     * @return true if the file looks like a binary pack
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinaryPack(Path packFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the magic number is complete or the file ends
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+
+    /**
+     * Maps a binary pack and returns its cards in place, without copying or parsing them.
+     * The header and checksum are verified first. The mapping stays valid after the file is closed.
+     *
+     * @param packFile the binary pack
+     * @return a read-only view of the card denominations
+     * @throws IllegalArgumentException if the file is truncated, corrupt or not a binary pack
+     * @throws IOException if the file cannot be read
+     */
+    public static IntBuffer map(Path packFile) throws IOException {
+        MappedByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Pack file is too large to map: " + packFile);
+            }
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (bytes.remaining() < HEADER_BYTES || bytes.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Invalid File: Pack is not a binary pack in file");
+        }
+        int version = bytes.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Invalid File: Unsupported binary pack version " + version + " in file");
+        }
+        int count = bytes.getInt(8);
+        if (count < 0 || (long) HEADER_BYTES + 4L * count != bytes.capacity()) {
+            throw new IllegalArgumentException("Invalid File: Binary pack is truncated in file");
+        }
+
+        bytes.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != bytes.getInt(12)) {
+            throw new IllegalArgumentException("Invalid File: Binary pack checksum does not match in file");
+        }
+        bytes.position(HEADER_BYTES);
+        return bytes.slice().asIntBuffer().asReadOnlyBuffer();
+    }
+
+
+    /**
+     * Reads and validates a binary pack, with the same checks as a text pack.
+     *
+     * @param packFile the binary pack
+     * @param expectedSize the number of cards the pack must hold
+     * @return the denominations in file order
+     * @throws IllegalArgumentException if the pack is invalid, with the message shown to the user
+     * @throws IOException if the file cannot be read
+     */
+    public static int[] read(Path packFile, int expectedSize) throws IOException {
+        IntBuffer cards = map(packFile);
+        int found = cards.remaining();
+        if (found < expectedSize) {
+            throw new IllegalArgumentException("Invalid File: Pack size too small (expected " + expectedSize + ", found " + found + ") in file");
+        }
+        if (found > expectedSize) {
+            throw new IllegalArgumentException("Invalid File: Pack size too big (expected " + expectedSize + ", found " + found + ") in file");
+        }
+        int[] pack = new int[found];
+        cards.get(pack);
+        for (int denom : pack) {
+            if (denom < 0) {
+                throw new IllegalArgumentException(PackReader.NEGATIVE_MESSAGE);
+            }
+        }
+        return pack;
+    }
+}
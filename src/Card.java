@@ -1,9 +1,23 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
 /*
  * This class represents a single card object in the game.
  * It includes the card's value and the deck it belongs to.
  */
 public class Card {
 
+    private static final int CACHE_SIZE = 1024;
+    static final int MAX_CACHE_SIZE = 1 << 20; //4 MB of references at most, whatever the pack
+    private static final ReentrantLock CACHE_LOCK = new ReentrantLock();
+    private static volatile Card[] cache = new Card[CACHE_SIZE]; //replaced, never changed, once published
+
+    static {
+        for (int denom = 0; denom < CACHE_SIZE; denom++) {
+            cache[denom] = new Card(denom);
+        }
+    }
+
     private final int denom; //card denomination, abbreviated as 'denom'
 
     public Card(int denom){
@@ -13,6 +27,66 @@ public class Card {
         this.denom = denom;
     }
 
+    /**
+     * Returns the shared card for a denomination. Cards are immutable, so every card of the
+     * same denomination can be one instance; denominations below 1024 are created up front,
+     * and higher ones once a game reserves them. Denominations beyond the cache get a new card.
+     *
+     * @param denom the card denomination
+     * @return the card with that denomination
+     * @throws IllegalArgumentException if the denomination is negative
+     */
+    public static Card valueOf(int denom) {
+        Card[] cards = cache;
+        if (denom >= 0 && denom < cards.length) {
+            return cards[denom];
+        }
+        return new Card(denom);
+    }
+
+
+    /**
+     * Grows the shared cards to cover every denomination in a pack, so drawing and discarding
+     * them allocates nothing. Called when a pack is dealt; the cache is a flat array sized by the
+     * highest denomination, up to MAX_CACHE_SIZE cards.
+     *
+     * @param denoms the denominations that will be played
+     */
+    static void reserve(int[] denoms) {
+        int highest = -1;
+        for (int denom : denoms) {
+            highest = Math.max(highest, denom);
+        }
+        reserve(highest);
+    }
+
+
+    /**
+     * Grows the shared cards to cover every denomination up to the given one.
+     * @param highest the highest denomination that will be played
+     */
+    static void reserve(int highest) {
+        int size = (int) Math.min(highest + 1L, MAX_CACHE_SIZE);
+        if (size <= cache.length) {
+            return;
+        }
+        CACHE_LOCK.lock();
+        try {
+            Card[] old = cache;
+            if (size <= old.length) {
+                return;
+            }
+            Card[] grown = Arrays.copyOf(old, size);
+            for (int denom = old.length; denom < size; denom++) {
+                grown[denom] = new Card(denom);
+            }
+            cache = grown;
+        } finally {
+            CACHE_LOCK.unlock();
+        }
+    }
+
+
     /**
      * Getter method for card denomination.
      *
@@ -32,6 +106,23 @@ public class Card {
         return Integer.toString(denom);  // Returns the card's denomination as a string
     }
 
+
+    /**
+     * Cards are equal when they have the same denomination.
+     * @param other the object to compare with
+     * @return true if the other object is a card of the same denomination
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof Card && ((Card) other).denom == denom);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return denom;
+    }
+
     
 }
 
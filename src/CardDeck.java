@@ -1,26 +1,84 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class represents a deck of cards in the game. Each deck with 
  * a unique ID, supporting synchronized card operations and logging.
+ * Card operations are guarded by a ReentrantLock rather than the deck's monitor,
+ * so players running on virtual threads never pin their carrier thread.
+ * A player can wait for a card with awaitCard or drawCard, which spin briefly, then yield,
+ * then park until the next addCard wakes them.
  */
 public class CardDeck {
 
-    private List<Card> deck;
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    private static final long MAX_PARK_NANOS = 10_000_000; //10 ms, in case more than one thread waits on the deck
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Thread waiter; //the player parked until a card is added
+    private CardRingBuffer deck;
     private int deckId;
-    private BufferedWriter logWriter;
+    private GameMetrics.DeckMetrics metrics; //null unless the game records metrics
+
+    public CardDeck(int deckId) {
+        this(deckId, null, 0);
+    }
 
     public CardDeck(int deckId, File gameFolder) {
+        this(deckId, gameFolder, 0);
+    }
+
+    /**
+     * Creates a deck whose storage is sized up front for the given number of cards,
+     * so draws and discards never need to resize it during a game.
+     * The deck opens no files; its output is written once, at the end of the game,
+     * by logDeckTo or logDeckToFile. The game folder is accepted for compatibility.
+     */
+    public CardDeck(int deckId, File gameFolder, int capacity) {
         if (deckId <= 0) {
             throw new IllegalArgumentException("Deck ID must be a positive integer.");
         }
         this.deckId = deckId;
-        this.deck = new ArrayList<>();
-        try {
-            logWriter = new BufferedWriter(new FileWriter(new File(gameFolder, "deck" + deckId + "_output.txt")));
-        } catch (IOException e) {
-            System.out.println("Failed to create log file for deck " + deckId);
+        this.deck = capacity > 0 ? new CardRingBuffer(capacity) : new CardRingBuffer();
+    }
+
+    /**
+     * Creates a deck for a subclass that stores its cards itself and overrides every method
+     * that reads or changes them, so no storage is allocated here.
+     */
+    protected CardDeck(int deckId, File gameFolder, boolean storesOwnCards) {
+        if (deckId <= 0) {
+            throw new IllegalArgumentException("Deck ID must be a positive integer.");
+        }
+        this.deckId = deckId;
+        this.deck = storesOwnCards ? null : new CardRingBuffer();
+    }
+
+
+    /**
+     * Starts recording lock waits in the given metrics. Must be called before the players start.
+     * @param metrics the deck's metrics
+     */
+    public void setMetrics(GameMetrics.DeckMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+
+    /**
+     * Takes the deck lock for a draw or discard, timing the wait if it is contended.
+     */
+    private void lockForTurn() {
+        GameMetrics.DeckMetrics m = metrics;
+        if (m == null) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            long waitStart = System.nanoTime();
+            lock.lock();
+            m.recordLockWait(System.nanoTime() - waitStart);
         }
     }
 
@@ -47,7 +105,7 @@ public class CardDeck {
      * Provides access to the cards in the deck.
      * @return the list of cards in the deck
      */
-    public synchronized List<Card> getDeckCards() {
+    public List<Card> getDeckCards() {
         return deck;
     }
 
@@ -56,8 +114,13 @@ public class CardDeck {
      * Checks if the deck is empty.
      * @return true if the deck is empty, false otherwise
      */
-    public synchronized boolean isDeckEmpty() {
-        return deck.isEmpty();
+    public boolean isDeckEmpty() {
+        lock.lock();
+        try {
+            return deck.isEmpty();
+        } finally {
+            lock.unlock();
+        }
     }
 
 
@@ -66,20 +129,127 @@ public class CardDeck {
      * @return the card drawn from the top of the deck
      * @throws IllegalStateException if the deck is empty
      */
-    public synchronized Card removeCard() {
-        if (isDeckEmpty()) {
-            throw new IllegalStateException("Deck " + deckId + " is empty: Cannot draw from an empty deck.");
+    public Card removeCard() {
+        lockForTurn();
+        try {
+            if (deck.isEmpty()) {
+                throw new IllegalStateException("Deck " + deckId + " is empty: Cannot draw from an empty deck.");
+            }
+            return deck.removeFirst(); 
+        } finally {
+            lock.unlock();
         }
-        return deck.remove(0); 
     }
 
 
     /**
-     * Discards a card by adding it to the bottom of the deck.
+     * Discards a card by adding it to the bottom of the deck, waking the player waiting to draw.
      * @param card the card to be discarded into the deck
      */
-    public synchronized void addCard(Card card) {
-        deck.add(card); 
+    public void addCard(Card card) {
+        lockForTurn();
+        try {
+            deck.addLast(card); 
+        } finally {
+            lock.unlock();
+        }
+        signalCardAdded();
+    }
+
+
+    /**
+     * Waits until the deck holds a card. The wait spins briefly, then yields, then parks until
+     * addCard wakes the waiting thread, so a player blocked on a slow neighbour uses no CPU.
+     * The deck is meant to have a single drawing player, as in the game; with several, a
+     * parked thread may only notice a card after a short bounded park.
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the deck holds a card, false if the timeout passed first
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitCard(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long timeoutNanos = unit.toNanos(timeout);
+        for (int attempt = 0; attempt < SPIN_LIMIT + YIELD_LIMIT; attempt++) {
+            if (!isDeckEmpty()) {
+                return true;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - start >= timeoutNanos) {
+                return false;
+            }
+            if (attempt < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+
+        // Publish the waiter before checking again, so a card added in between is not missed
+        waiter = Thread.currentThread();
+        try {
+            while (isDeckEmpty()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                long remaining = timeoutNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, Math.min(remaining, MAX_PARK_NANOS));
+            }
+            return true;
+        } finally {
+            waiter = null;
+        }
+    }
+
+
+    /**
+     * Waits up to the timeout for a card, then draws it.
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return the card drawn from the top of the deck, or null if the timeout passed first
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public Card drawCard(long timeout, TimeUnit unit) throws InterruptedException {
+        return awaitCard(timeout, unit) ? removeCard() : null;
+    }
+
+
+    /**
+     * Waits as long as it takes for a card, then draws it.
+     *
+     * @return the card drawn from the top of the deck
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public Card drawCard() throws InterruptedException {
+        awaitCard(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return removeCard();
+    }
+
+
+    /**
+     * Tells the deck the game is over, so a player waiting for room to discard into it stops
+     * waiting. This deck grows as needed and never makes a player wait, so it does nothing.
+     */
+    public void endGame() {
+    }
+
+
+    /**
+     * Wakes the thread parked in awaitCard, if any. Must follow an addCard whose write is
+     * ordered before this read, as the lock release and the SPSC deck's volatile store are.
+     */
+    protected final void signalCardAdded() {
+        Thread parked = waiter;
+        if (parked != null) {
+            LockSupport.unpark(parked);
+        }
     }
 
 
@@ -89,11 +259,16 @@ public class CardDeck {
      * @return the card on top of the deck
      * @throws IllegalStateException if the deck is empty
      */
-    public synchronized Card getTopCard() {
-        if (isDeckEmpty()) {
-            throw new IllegalStateException("Deck is empty, no top card.");
+    public Card getTopCard() {
+        lock.lock();
+        try {
+            if (deck.isEmpty()) {
+                throw new IllegalStateException("Deck is empty, no top card.");
+            }
+            return deck.peekFirst(); 
+        } finally {
+            lock.unlock();
         }
-        return deck.get(0); 
     }
 
 
@@ -101,17 +276,33 @@ public class CardDeck {
      * Returns the denominations of the cards in the deck as a space-separated string.
      * @return a string representing the denominations of the cards in the deck
      */
-    public synchronized String getDeckCardsAsString() {
-        if (deck.isEmpty()) {
-            return "No cards in the deck";  
-        }
+    public String getDeckCardsAsString() {
+        return appendDeckCards(new StringBuilder()).toString();
+    }
+
 
-        StringBuilder deckString = new StringBuilder();
-        for (Card card : deck) {
-            deckString.append(card.toString()).append(" "); 
+    /**
+     * Appends the denominations of the cards in the deck, space-separated, to a buffer,
+     * so callers that render many decks can reuse one buffer instead of making strings.
+     * @param out the buffer to append to
+     * @return the buffer
+     */
+    public StringBuilder appendDeckCards(StringBuilder out) {
+        lock.lock();
+        try {
+            if (deck.isEmpty()) {
+                return out.append("No cards in the deck");
+            }
+            for (int i = 0; i < deck.size(); i++) {
+                if (i > 0) {
+                    out.append(' ');
+                }
+                out.append(deck.get(i).getDenom());
+            }
+            return out;
+        } finally {
+            lock.unlock();
         }
-        deckString.deleteCharAt(deckString.length() - 1);  
-        return deckString.toString();
     }
 
     /**
@@ -133,5 +324,22 @@ public class CardDeck {
             System.out.println("Failed to write deck file.");
         }
     }
+
+
+    /**
+     * Logs the current contents of the deck to the given sink, then closes it.
+     * Uses the same format as logDeckToFile.
+     *
+     * @param sink the output for the deck's file
+     * @throws IOException if the sink could not be flushed and closed
+     */
+    public void logDeckTo(LogSink sink) throws IOException {
+        try {
+            StringBuilder line = new StringBuilder("deck").append(deckId).append(" contents: ");
+            sink.append(appendDeckCards(line).append('\n'));
+        } finally {
+            sink.close();
+        }
+    }
     
 }
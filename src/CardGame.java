@@ -1,6 +1,8 @@
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 
 /**
@@ -8,10 +10,22 @@ import java.text.SimpleDateFormat;
  * game initialisation, player actions and overall game flow.
  */
 public class CardGame {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000; //longest wait for the players to stop after a win
+    private static final String HEADLESS_USAGE = "Usage: --headless --players N --pack PATH [--games G] [--out PATH] [--deck synchronized|spsc] [--threads platform|virtual] [--pacing SPEC] [--seed S] [--no-shuffle] [--metrics] [--metrics-sample-millis MS] [--engine threaded|fast] [--max-turns T] [--workers W] [--strategies NAMES] [--checkpoint PATH] [--checkpoint-millis MS] [--resume PATH] [--shards K] [--jmx] [--monitor-port P]"
+            + " (interactive games: java CardGame [--binary-log] [--segmented-logs] [--log-level off|summary|turns|all])";
+
     public static void main(String[] args) throws InterruptedException {
+        // Arguments other than the output options select the headless simulation mode instead of the interactive prompts
+        GameConfig config = parseOutputOptions(args);
+        if (config == null) {
+            runHeadless(args);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         int numOfPlayers;
         String packFilePath;
+        int[] pack;
 
         // Step 1: Input number of players
         while (true) {
@@ -29,10 +43,10 @@ public class CardGame {
         // Step 2: Input and validate file name for card pack
         while (true) {
             System.out.print("Please enter the name of the card pack file:\n");
-            String pack = scanner.nextLine().trim();
+            String packFileName = scanner.nextLine().trim();
             
             // Construct the file path
-            packFilePath = "./../res/" + pack;
+            packFilePath = "./../res/" + packFileName;
 
             // Check if the file exists
             File file = new File(packFilePath);
@@ -41,8 +55,9 @@ public class CardGame {
                 continue;  
             } 
 
-            // Validate content
-            if (validateFile(packFilePath, numOfPlayers)) {
+            // Validate content, keeping the loaded pack so the file is only read once
+            pack = loadPack(packFilePath, numOfPlayers);
+            if (pack != null) {
                 break;
             } 
         }
@@ -50,11 +65,44 @@ public class CardGame {
         System.out.println("\nNumber of Players: " + numOfPlayers + " | " + "File Path: " + packFilePath);
 
         // Step 3: Start the game
-        runGame(packFilePath, numOfPlayers);
+        runGame(pack, numOfPlayers, config);
         scanner.close();
     }
 
 
+    /**
+     * Reads the settings of an interactive game from its command-line arguments, which may only
+     * choose how the game's output files are written: --binary-log, --segmented-logs and
+     * --log-level off|summary|turns|all.
+     *
+     * @param args the command-line arguments
+     * @return the settings, or null if the arguments ask for a headless run instead
+     * @throws IllegalArgumentException if --log-level has no valid level
+     */
+    static GameConfig parseOutputOptions(String[] args) {
+        GameConfig config = new GameConfig();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--binary-log":
+                    config.setBinaryEventLog(true);
+                    break;
+                case "--segmented-logs":
+                    config.setSegmentedLogs(true);
+                    break;
+                case "--log-level":
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Missing value for argument --log-level");
+                    }
+                    config.setLogLevel(LogLevel.valueOf(args[++i].toUpperCase()));
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return config;
+    }
+
+
     /**
      * Runs the game by initialising players, decks, and distributing cards. 
      * It handles the game loop, logging, and game termination. 
@@ -65,89 +113,233 @@ public class CardGame {
      * @throws InterruptedException if the game thread is interrupted during execution
      */
     public static void runGame(String packFilePath, int numOfPlayers) throws InterruptedException {
-        ArrayList<Card> pack = new ArrayList<>();
+        runGame(packFilePath, numOfPlayers, new GameConfig());
+    }
+
+
+    /**
+     * Runs the game as above, using the given settings.
+     *
+     * @param packFilePath the path to the file containing the card pack
+     * @param numOfPlayers the number of players in the game
+     * @param config the settings for this game
+     * @return the winner, every player's turn count and the wall time of the game
+     * @throws IllegalArgumentException if the pack file is missing or invalid for the number of players
+     * @throws InterruptedException if the game thread is interrupted during execution
+     */
+    public static GameResult runGame(String packFilePath, int numOfPlayers, GameConfig config) throws InterruptedException {
+        int[] pack = loadPack(packFilePath, numOfPlayers);
+        if (pack == null) {
+            throw new IllegalArgumentException("Invalid card pack: " + packFilePath);
+        }
+        return runGame(pack, numOfPlayers, config);
+    }
+
+
+    /**
+     * Runs the game as above with a pack that has already been loaded and validated.
+     * The pack is shuffled into a copy, so the same array can be reused for many games.
+     *
+     * @param pack the card denominations, exactly 8 per player
+     * @param numOfPlayers the number of players in the game
+     * @param config the settings for this game
+     * @return the outcome of the game
+     * @throws InterruptedException if the game thread is interrupted during execution
+     */
+    public static GameResult runGame(int[] pack, int numOfPlayers, GameConfig config) throws InterruptedException {
+        return runGame(pack, numOfPlayers, config, new GameContext(config));
+    }
+
+
+    /**
+     * Runs the game as above, drawing every random number from the given stream instead of
+     * one made from the config's seed. Batches of games give each game its own split stream.
+     *
+     * @param pack the card denominations, exactly 8 per player
+     * @param numOfPlayers the number of players in the game
+     * @param config the settings for this game
+     * @param random the game's random stream
+     * @return the outcome of the game
+     * @throws InterruptedException if the game thread is interrupted during execution
+     */
+    public static GameResult runGame(int[] pack, int numOfPlayers, GameConfig config, SplittableRandom random) throws InterruptedException {
+        return runGame(pack, numOfPlayers, config, new GameContext(config, random));
+    }
+
+
+    /**
+     * Resumes a game from a snapshot: every player starts with its saved hand and turn count,
+     * and every deck with its saved cards, then the game is played as usual. Nothing is shuffled.
+     * Only the threaded engine can resume a game.
+     *
+     * @param snapshot the game's saved state
+     * @param config the settings for the resumed game
+     * @return the outcome of the game, with turn counts that include the turns before the snapshot
+     * @throws InterruptedException if the game thread is interrupted during execution
+     */
+    public static GameResult resumeGame(GameSnapshot snapshot, GameConfig config) throws InterruptedException {
+        if (config.getEngine() != GameConfig.Engine.THREADED) {
+            throw new IllegalArgumentException("Only the threaded engine can resume a game.");
+        }
+        return runGame(null, snapshot, snapshot.getNumOfPlayers(), config, new GameContext(config));
+    }
+
+
+    private static GameResult runGame(int[] pack, int numOfPlayers, GameConfig config, GameContext context) throws InterruptedException {
+        if (pack.length != 8 * numOfPlayers) {
+            throw new IllegalArgumentException("Pack must hold exactly " + (8 * numOfPlayers) + " cards.");
+        }
+        return runGame(pack, null, numOfPlayers, config, context);
+    }
+
+
+    private static GameResult runGame(int[] pack, GameSnapshot resumeFrom, int numOfPlayers, GameConfig config, GameContext context) throws InterruptedException {
+        if (config.getEngine() == GameConfig.Engine.FAST) {
+            if (!config.isHeadless()) {
+                throw new IllegalArgumentException("The fast engine only plays headless games.");
+            }
+            int[] dealt = config.isShuffle() ? shufflePack(pack, context.getRandom()) : pack;
+            return new FastGameEngine(numOfPlayers, config.getCustomStrategies(numOfPlayers))
+                    .play(dealt, config.getMaxTurns(), context.getRandom());
+        }
+        if (config.getCheckpointFile() != null && config.getDeckType() == GameConfig.DeckType.SPSC) {
+            // A player waiting for room in a full ring holds its turn lock, which a checkpoint also takes
+            throw new IllegalArgumentException("Checkpoints need synchronized decks, not spsc decks.");
+        }
         Player[] players = new Player[numOfPlayers];
         CardDeck[] decks = new CardDeck[numOfPlayers];
-        AtomicBoolean gameEnded = new AtomicBoolean(false);
+        boolean console = !config.isHeadless();
 
-        System.out.println("---------------- GAME START ----------------\n");
+        if (console) System.out.println("---------------- GAME START ----------------\n");
 
-        //Step 1: Generate a folder for .txt output files
-        SimpleDateFormat sdf = new SimpleDateFormat("HH-mm-ss_yyyy-MM-dd");
-        String folderName = "game_" + sdf.format(new Date());
-        File gameFolder = new File(folderName);
-        if (!gameFolder.exists()) {
-            gameFolder.mkdirs();
-        }
+        //Step 1: Generate a folder for .txt output files (headless games write no files)
+        File gameFolder = console ? createGameFolder() : null;
 
-        //Step 2: Load and shuffle the card pack
-        loadAndShufflePack(packFilePath, pack);
-        System.out.println("Loaded & Shuffled Pack: " + pack + "\n"); //debugging
+        //Step 2: Shuffle the card pack, unless it is dealt in file order or the game is resumed
+        if (resumeFrom != null) {
+            if (console) System.out.println("Resuming game after " + resumeFrom.getTotalTurns() + " turns\n");
+        } else {
+            if (config.isShuffle()) {
+                pack = shufflePack(pack, context.getRandom());
+            }
+            if (console && config.getLogLevel().includes(LogLevel.ALL)) System.out.println("Loaded & Shuffled Pack: " + Arrays.toString(pack) + "\n"); //debugging
+        }
+        long startTime = System.nanoTime();
 
         //Step 3: Initialise decks and players
+        if (console) {
+            try {
+                context.openEventLog(gameFolder, numOfPlayers);
+            } catch (IOException e) {
+                System.out.println("Failed to create event log, writing text output files instead.");
+            }
+        }
+
+        context.createMetrics(numOfPlayers);
+        GameMetrics metrics = context.getMetrics();
         for (int i = 0; i < numOfPlayers; i++) {
-            decks[i] = new CardDeck(i + 1, gameFolder);
+            int restoredCards = resumeFrom != null ? resumeFrom.getDeck(i + 1).length : 0;
+            decks[i] = createDeck(i + 1, gameFolder, numOfPlayers, config, restoredCards);
+            if (metrics != null) {
+                decks[i].setMetrics(metrics.deck(i + 1));
+            }
         }
 
         for (int i = 0; i < numOfPlayers; i++) {
             CardDeck leftDeck = decks[i];
             CardDeck rightDeck = decks[(i + 1) % numOfPlayers];
-            players[i] = new Player(i + 1, gameFolder, leftDeck, rightDeck, gameEnded, players);
+            players[i] = new Player(i + 1, gameFolder, leftDeck, rightDeck, context, players);
         }
 
-        // Step 4: Distribute cards to players' hands
-        for (int i = 0; i < 4 * numOfPlayers; i++) {
-            players[i % numOfPlayers].addCardToHand(pack.get(i));
+        // Step 4: Distribute cards to players' hands, or restore the saved hands
+        if (resumeFrom != null) {
+            for (int i = 1; i <= numOfPlayers; i++) {
+                Card.reserve(resumeFrom.getHand(i));
+                Card.reserve(resumeFrom.getDeck(i));
+            }
+        } else {
+            Card.reserve(pack);
+        }
+        if (resumeFrom != null) {
+            for (Player p : players) {
+                for (int denom : resumeFrom.getHand(p.getPlayerNumber())) {
+                    p.addCardToHand(Card.valueOf(denom));
+                }
+                p.restoreTurnCount(resumeFrom.getTurns(p.getPlayerNumber()));
+            }
+        } else {
+            for (int i = 0; i < 4 * numOfPlayers; i++) {
+                players[i % numOfPlayers].addCardToHand(Card.valueOf(pack[i]));
+            }
         }
 
         //Step 5: Log players' initial hands
         for (Player p : players) {
-            p.logAction("initial hand " + p.getHandAsString());
+            p.logInitialHand();
         }
 
-        //Step 6: Distribute remaining cards to decks
-        for (int i = 4 * numOfPlayers; i < 8 * numOfPlayers; i++) {
-            decks[i % numOfPlayers].addCard(pack.get(i));
+        //Step 6: Distribute remaining cards to decks, or restore the saved decks
+        if (resumeFrom != null) {
+            for (CardDeck d : decks) {
+                for (int denom : resumeFrom.getDeck(d.getDeckId())) {
+                    d.addCard(Card.valueOf(denom));
+                }
+            }
+        } else {
+            for (int i = 4 * numOfPlayers; i < 8 * numOfPlayers; i++) {
+                decks[i % numOfPlayers].addCard(Card.valueOf(pack[i]));
+            }
         }
 
         //Step 7: Check for immediate winners after cards are dealt
         for (Player p : players) {
             if (p.hasWon()) {
-                gameEnded.set(true);
-                p.logAction("Wins");  
-                p.logAction("Exits");
-                p.logAction("final hand: " + p.getHandAsString());
-                p.notifyPlayersOfWin(p); 
+                context.declareWinner(p.getPlayerNumber());
+                context.signalGameEnded();
+                p.logWin();
                 break;  
             }
         }
 
         // **DEBUGGING: Print the initial cards in each deck before players begin drawing and discarding**
-        System.out.println("");
-        for (int i = 0; i < numOfPlayers; i++) {
-            System.out.println("Deck " + (i + 1) + " Initial Cards: " + decks[i].getDeckCardsAsString());
-        }
+        if (console && config.getLogLevel().includes(LogLevel.ALL)) {
+            System.out.println("");
+            for (int i = 0; i < numOfPlayers; i++) {
+                System.out.println("Deck " + (i + 1) + " Initial Cards: " + decks[i].getDeckCardsAsString());
+            }
 
-        System.out.println("");
+            System.out.println("");
+        }
 
-        //Step 8: Start player threads
-        for (Player p : players) {
-            p.start();
-            System.out.println("Player " + p.getPlayerNumber() + " thread started.");
+        //Step 8: Start watching the game if asked to, then start player threads
+        GameMonitor monitor = config.isMonitored() ? GameMonitor.start(context, players, decks) : null;
+        Thread[] playerThreads = new Thread[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            playerThreads[i] = startPlayer(players[i], config.getThreadMode());
+            if (console) System.out.println("Player " + players[i].getPlayerNumber() + " thread started.");
         }
 
-        System.out.println("");
+        if (console) System.out.println("");
 
-        //Step 9: Game loop
-        while (!gameEnded.get()) {
-            System.out.println("");
-            for (int i = 0; i < numOfPlayers; i++) {
-                System.out.println("Deck " + (i + 1) + " Cards: " + decks[i].getDeckCardsAsString());
-            }
+        //Step 9: Sleep until the winning player signals the end of the game, printing deck snapshots
+        //and writing checkpoints if enabled
+        boolean logAll = console && config.getLogLevel().includes(LogLevel.ALL);
+        awaitWinner(context, players, decks, logAll ? config.getDeckSnapshotMillis() : 0);
+
+        stopPlayers(context, players, playerThreads);
+        context.signalGameEnded();
+        if (monitor != null) {
+            monitor.close();
         }
+        long wallTimeNanos = System.nanoTime() - startTime;
 
         // Print the directory where the folder is created
-        System.out.println("\n.txt output files can be found at: " + gameFolder.getAbsolutePath());
+        if (console && config.isSegmentedLogs() && context.getEventLog() == null) {
+            System.out.println("\nLog segments can be found at: " + gameFolder.getAbsolutePath()
+                    + " (export the .txt files with: java SegmentedLogStore " + gameFolder.getPath() + ")");
+        } else if (console) {
+            System.out.println("\n.txt output files can be found at: " + gameFolder.getAbsolutePath());
+        }
         
         //Step 10: End game: Stop all player threads and log deck contents
         for (Player p : players) {
@@ -155,47 +347,481 @@ public class CardGame {
         }
         
         //Step 11: Print winner to terminal
-        System.out.println("");
-        for (Player p : players) {
-            if (p.hasWon()) {
-                System.out.println("Player " + p.getPlayerNumber() + " Wins!");
-                break;
+        if (console) System.out.println("");
+        int winner = context.getWinner();
+        if (console && winner != 0) System.out.println("Player " + winner + " Wins!");
+
+        //Step 11: Log deck contents, then wait for the log writer to finish
+        if (console) {
+            try {
+                if (context.getEventLog() != null) {
+                    logDecksTo(context.getEventLog(), decks);
+                } else if (config.getLogLevel() != LogLevel.OFF) {
+                    for (CardDeck d : decks) {
+                        File deckFile = new File(gameFolder, "deck" + d.getDeckId() + "_output.txt");
+                        d.logDeckTo(context.openLog(deckFile, false, false));
+                    }
+                }
+                context.closeLogs();
+            } catch (IOException e) {
+                System.out.println("Failed to write deck file.");
             }
         }
 
-        //Step 11: Log deck contents
+        int[] turns = new int[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            turns[i] = players[i].getTurnCount();
+        }
+        return new GameResult(winner, turns, wallTimeNanos, metrics);
+    }
+
+
+    /**
+     * Sleeps until a player wins. Meanwhile prints every deck's cards at the snapshot interval,
+     * samples every deck's size at the occupancy sample interval if the game records metrics, and
+     * writes a checkpoint at the checkpoint interval if checkpoints are on.
+     *
+     * @param context the game's shared state
+     * @param players the game's players
+     * @param decks the game's decks
+     * @param snapshotMillis the interval between deck snapshots, 0 for none
+     * @throws InterruptedException if the main thread is interrupted while waiting
+     */
+    private static void awaitWinner(GameContext context, Player[] players, CardDeck[] decks, long snapshotMillis) throws InterruptedException {
+        GameMetrics metrics = context.getMetrics();
+        String checkpointFile = context.getConfig().getCheckpointFile();
+        long checkpointMillis = checkpointFile != null ? context.getConfig().getCheckpointMillis() : 0;
+        long sampleMillis = metrics != null ? context.getConfig().getOccupancySampleMillis() : 0;
+        if (sampleMillis == 0 && snapshotMillis == 0 && checkpointMillis == 0) {
+            context.awaitGameEnded();
+            return;
+        }
+        // Wake for the most frequent of the three; each one then checks its own deadline
+        long waitMillis = Long.MAX_VALUE;
+        for (long millis : new long[] {sampleMillis, snapshotMillis, checkpointMillis}) {
+            if (millis > 0) {
+                waitMillis = Math.min(waitMillis, millis);
+            }
+        }
+        long nextSample = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sampleMillis);
+        long nextSnapshot = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(snapshotMillis);
+        long nextCheckpoint = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(checkpointMillis);
+        long checkpointedTurns = -1;
+        int[] deckSizes = new int[decks.length];
+        StringBuilder line = new StringBuilder();
+        while (!context.awaitGameEnded(waitMillis, TimeUnit.MILLISECONDS)) {
+            if (checkpointMillis > 0 && System.nanoTime() - nextCheckpoint >= 0) {
+                nextCheckpoint += TimeUnit.MILLISECONDS.toNanos(checkpointMillis);
+                checkpointedTurns = writeCheckpoint(players, decks, Paths.get(checkpointFile), checkpointedTurns);
+            }
+            if (sampleMillis > 0 && System.nanoTime() - nextSample >= 0) {
+                nextSample += TimeUnit.MILLISECONDS.toNanos(sampleMillis);
+                for (int i = 0; i < decks.length; i++) {
+                    deckSizes[i] = decks[i].getDeckSize();
+                }
+                metrics.sampleOccupancy(deckSizes);
+            }
+            if (snapshotMillis > 0 && System.nanoTime() - nextSnapshot >= 0) {
+                nextSnapshot += TimeUnit.MILLISECONDS.toNanos(snapshotMillis);
+                System.out.println("");
+                for (int i = 0; i < decks.length; i++) {
+                    line.setLength(0);
+                    System.out.println(decks[i].appendDeckCards(line.append("Deck ").append(i + 1).append(" Cards: ")));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Takes a snapshot of the game and writes it, unless no turn was taken since the last one.
+     *
+     * @param players the game's players
+     * @param decks the game's decks
+     * @param file the checkpoint file
+     * @param lastTurns the total turn count of the last checkpoint written, -1 for none
+     * @return the total turn count of the latest checkpoint written
+     */
+    private static long writeCheckpoint(Player[] players, CardDeck[] decks, Path file, long lastTurns) {
+        GameSnapshot snapshot = GameSnapshot.capture(players, decks);
+        long turns = snapshot.getTotalTurns();
+        if (turns == lastTurns) {
+            return lastTurns;
+        }
+        try {
+            snapshot.write(file);
+            return turns;
+        } catch (IOException e) {
+            System.out.println("Failed to write checkpoint " + file + ": " + e.getMessage());
+            return lastTurns;
+        }
+    }
+
+
+    /**
+     * Records the final contents of every deck in the binary event log.
+     *
+     * @param eventLog the game's event log
+     * @param decks the decks to record
+     */
+    private static void logDecksTo(EventLog eventLog, CardDeck[] decks) {
+        EventLog.Writer writer = eventLog.newWriter();
         for (CardDeck d : decks) {
-            d.logDeckToFile(gameFolder);
+            List<Card> cards = d.getDeckCards();
+            writer.record(0, 0, EventLog.DECK_CONTENTS, cards.size(), d.getDeckId());
+            for (Card card : cards) {
+                writer.record(0, 0, EventLog.DECK_CARD, card.getDenom(), d.getDeckId());
+            }
         }
+        writer.close();
     }
 
 
     /**
-     * Loads a pack of cards from a file and shuffles them.
-     * Each card is represented by an integer value read from the file, 
-     * and the pack is shuffled to randomize the order.
+     * Runs the game without a console, reading its settings from command-line arguments.
+     * Prints one line per game with the winner, turn counts and wall time to the output sink.
+     * Supported arguments: --players N, --pack PATH, --games G, --out PATH ("-" for the console)
+     * --deck synchronized|spsc, --threads platform|virtual, --pacing none|fixed:MS|rate:TPS|game-rate:TPS,
+     * --seed S, --no-shuffle, --metrics, --metrics-sample-millis MS, --engine threaded|fast, --max-turns T, --workers W and
+     * --strategies NAME[,NAME...] (first, random or pairs, assigned to the seats in turn),
+     * --checkpoint PATH, --checkpoint-millis MS, --resume PATH, --shards K, --jmx and --monitor-port P. Each game gets its own random stream split from the seed,
+     * so a batch run with the same seed deals the same games; without --seed a seed is chosen and printed.
+     * With more than one worker the games are played in parallel as a tournament and only the
+     * tournament report is printed. --metrics prints each game's metrics report after its line.
+     * --resume plays one game from a snapshot written by --checkpoint, taking the players from it.
+     * --shards splits each game's players across K processes on this machine (see ShardedGame).
+     * --jmx and --monitor-port let each game be watched while it runs (see GameMonitor).
      *
-     * @param packFilePath the path to the file containing the card values
-     * @param pack the list to store the loaded and shuffled cards
+     * @param args the command-line arguments
+     * @throws InterruptedException if the game thread is interrupted during execution
      */
-    private static void loadAndShufflePack(String packFilePath, ArrayList<Card> pack) {
-        try (Scanner scanner = new Scanner(new File(packFilePath))) {
+    public static void runHeadless(String[] args) throws InterruptedException {
+        int numOfPlayers = 0;
+        String packFilePath = null;
+        int games = 1;
+        int workers = 1;
+        String output = "-";
+        String[] strategies = null;
+        String checkpointFile = null;
+        long checkpointMillis = 5000;
+        String resumeFile = null;
+        int shards = 1;
+        GameConfig config = new GameConfig().setHeadless(true);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--headless")) {
+                continue;
+            }
+            if (arg.equals("--no-shuffle")) {
+                config.setShuffle(false);
+                continue;
+            }
+            if (arg.equals("--metrics")) {
+                config.setMetrics(true);
+                continue;
+            }
+            if (arg.equals("--jmx")) {
+                config.setJmx(true);
+                continue;
+            }
+            if (arg.equals("--binary-log") || arg.equals("--segmented-logs") || arg.equals("--log-level")) {
+                throw new IllegalArgumentException(arg + " only applies to interactive games; headless games write no output files.");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for argument " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--players":
+                    numOfPlayers = Integer.parseInt(value);
+                    break;
+                case "--pack":
+                    packFilePath = value;
+                    break;
+                case "--games":
+                    games = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    output = value;
+                    break;
+                case "--pacing":
+                    config.setPacing(value);
+                    break;
+                case "--threads":
+                    config.setThreadMode(GameConfig.ThreadMode.valueOf(value.toUpperCase()));
+                    break;
+                case "--deck":
+                    config.setDeckType(GameConfig.DeckType.valueOf(value.toUpperCase()));
+                    break;
+                case "--engine":
+                    config.setEngine(GameConfig.Engine.valueOf(value.toUpperCase()));
+                    break;
+                case "--max-turns":
+                    config.setMaxTurns(Long.parseLong(value));
+                    break;
+                case "--metrics-sample-millis":
+                    config.setOccupancySampleMillis(Long.parseLong(value));
+                    break;
+                case "--workers":
+                    workers = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    config.setSeed(Long.parseLong(value));
+                    break;
+                case "--strategies":
+                    strategies = value.split(",");
+                    break;
+                case "--checkpoint":
+                    checkpointFile = value;
+                    break;
+                case "--checkpoint-millis":
+                    checkpointMillis = Long.parseLong(value);
+                    break;
+                case "--resume":
+                    resumeFile = value;
+                    break;
+                case "--shards":
+                    shards = Integer.parseInt(value);
+                    break;
+                case "--monitor-port":
+                    config.setMonitorPort(Integer.parseInt(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        GameSnapshot resumeFrom = null;
+        if (resumeFile != null) {
+            try {
+                resumeFrom = GameSnapshot.read(Paths.get(resumeFile));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read snapshot: " + resumeFile, e);
+            }
+            numOfPlayers = resumeFrom.getNumOfPlayers();
+            if (games != 1 || workers != 1 || shards != 1) {
+                throw new IllegalArgumentException("--resume plays the one game in the snapshot, so it cannot be combined with --games, --workers or --shards. " + HEADLESS_USAGE);
+            }
+        }
+        if (numOfPlayers < 2 || (packFilePath == null && resumeFrom == null) || games < 1 || workers < 1) {
+            throw new IllegalArgumentException(HEADLESS_USAGE);
+        }
+        if (checkpointFile != null) {
+            config.setCheckpoint(checkpointFile, checkpointMillis);
+        }
+        if (strategies != null) {
+            for (int seat = 1; seat <= numOfPlayers; seat++) {
+                config.setStrategy(seat, DiscardStrategy.byName(strategies[(seat - 1) % strategies.length]));
+            }
+        }
+        int[] pack = resumeFrom != null ? null : loadPack(packFilePath, numOfPlayers);
+        if (pack == null && resumeFrom == null) {
+            throw new IllegalArgumentException("Invalid card pack: " + packFilePath);
+        }
+        long seed = config.getSeed() != null ? config.getSeed() : new SplittableRandom().nextLong();
+        SplittableRandom seeds = new SplittableRandom(seed);
 
-            // Step 1: Load the pack into a list of Card objects
-            while (scanner.hasNextInt()) {
-                int cardValue = scanner.nextInt();
-                if (cardValue < 0) {
-                    throw new IllegalArgumentException("Card denomination must be a non-negative integer (>= 0).");
+        PrintStream out = System.out;
+        try {
+            if (!output.equals("-")) {
+                out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)), false);
+            }
+            if (resumeFrom != null) {
+                GameResult result = resumeGame(resumeFrom, config);
+                out.println("resumed after turns=" + resumeFrom.getTotalTurns() + " " + result);
+                if (result.getMetrics() != null) {
+                    out.println(result.getMetrics());
                 }
-                pack.add(new Card(cardValue));  
+                out.flush();
+                return;
             }
-    
-            // Step 2: Shuffle the pack to randomize card order
-            Collections.shuffle(pack);  
+            if (workers > 1 && shards > 1) {
+                throw new IllegalArgumentException("Sharded games cannot be run in parallel workers.");
+            }
+            if (workers > 1) {
+                out.println(new TournamentRunner(pack, numOfPlayers, config, workers).run(games, seed));
+                out.flush();
+                return;
+            }
+            long totalTurns = 0;
+            long totalNanos = 0;
+            for (int game = 1; game <= games; game++) {
+                GameResult result = shards > 1 ? ShardedGame.run(pack, numOfPlayers, shards, config, seeds.split())
+                        : runGame(pack, numOfPlayers, config, seeds.split());
+                totalTurns += result.getTotalTurns();
+                totalNanos += result.getWallTimeNanos();
+                out.println("game=" + game + " " + result);
+                if (result.getMetrics() != null) {
+                    out.println(result.getMetrics());
+                }
+            }
+            out.println("games=" + games + " seed=" + seed + " turns=" + totalTurns
+                    + " turnsPerSec=" + String.format("%.0f", totalTurns / (totalNanos / 1_000_000_000.0)));
+            out.flush();
         } catch (FileNotFoundException e) {
-            System.out.println("Failed to load pack from file.");
+            throw new IllegalArgumentException("Cannot write to output: " + output, e);
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+
+    /**
+     * Starts a player's turn loop on the kind of thread chosen in the config.
+     *
+     * @param player the player to start
+     * @param threadMode the kind of thread to run the player on
+     * @return the thread running the player
+     */
+    static Thread startPlayer(Player player, GameConfig.ThreadMode threadMode) {
+        if (threadMode == GameConfig.ThreadMode.VIRTUAL) {
+            Thread thread = VirtualThreads.newThread("player-" + player.getPlayerNumber(), player);
+            thread.start();
+            return thread;
+        }
+        player.start();
+        return player;
+    }
+
+
+    /**
+     * Wakes every player still waiting for a card or its next turn, so each logs its own exit,
+     * then waits, up to a bound, for every player to finish before logs are closed and turns counted.
+     *
+     * @param context the game's shared state, holding the winner
+     * @param players the players to stop
+     * @param playerThreads the threads running the players, in the same order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    static void stopPlayers(GameContext context, Player[] players, Thread[] playerThreads) throws InterruptedException {
+        for (Player p : players) {
+            if (p.getPlayerNumber() != context.getWinner()) {
+                p.stopTurns();
+            }
+        }
+        long shutdownDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+        for (int i = 0; i < players.length; i++) {
+            long remainingNanos = shutdownDeadline - System.nanoTime();
+            if (remainingNanos > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(playerThreads[i], remainingNanos);
+            }
+            if (playerThreads[i].isAlive()) {
+                System.out.println("Player " + players[i].getPlayerNumber() + " did not stop within " + SHUTDOWN_TIMEOUT_MILLIS + " ms of the win.");
+            }
+        }
+    }
+
+
+    /**
+     * Creates a new folder for a game's .txt output files, named after the current time.
+     * @return the new folder
+     */
+    static File createGameFolder() {
+        SimpleDateFormat sdf = new SimpleDateFormat("HH-mm-ss_yyyy-MM-dd");
+        String folderName = "game_" + sdf.format(new Date());
+        File gameFolder = new File(folderName);
+        // mkdir is atomic, so games started in the same second each get their own folder
+        for (int copy = 2; !gameFolder.mkdir() && gameFolder.exists(); copy++) {
+            gameFolder = new File(folderName + "_" + copy);
+        }
+        return gameFolder;
+    }
+
+
+    /**
+     * Creates the deck of the type chosen in the config.
+     *
+     * @param deckId the ID of the new deck
+     * @param gameFolder the folder for the game's output files
+     * @param numOfPlayers the number of players in the game
+     * @param config the settings for this game
+     * @return the new deck
+     */
+    static CardDeck createDeck(int deckId, File gameFolder, int numOfPlayers, GameConfig config) {
+        return createDeck(deckId, gameFolder, numOfPlayers, config, 0);
+    }
+
+
+    /**
+     * Creates the deck of the type chosen in the config, with room for the cards a resumed game
+     * restores into it. The cards are added before any player draws, so a ring too small for
+     * them would never drain.
+     *
+     * @param deckId the ID of the new deck
+     * @param gameFolder the folder for the game's output files
+     * @param numOfPlayers the number of players in the game
+     * @param config the settings for this game
+     * @param restoredCards the number of cards added to the deck before the players start
+     * @return the new deck
+     */
+    static CardDeck createDeck(int deckId, File gameFolder, int numOfPlayers, GameConfig config, int restoredCards) {
+        if (config.getDeckType() == GameConfig.DeckType.SPSC) {
+            // Enough for every card outside the hands in small games, capped so huge rings stay small
+            return new SpscCardDeck(deckId, gameFolder, Math.max(Math.min(4 * numOfPlayers + 1, 256), restoredCards));
+        }
+        return new CardDeck(deckId, gameFolder);
+    }
+
+
+    /**
+     * Returns a shuffled copy of the pack.
+     * Each card is represented by its denomination, and the copy is shuffled to randomize the order.
+     *
+     * @param pack the card denominations
+     * @param random the game's random stream
+     * @return a shuffled copy of the pack
+     */
+    static int[] shufflePack(int[] pack, SplittableRandom random) {
+        int[] shuffled = new int[pack.length];
+        shufflePackInto(pack, shuffled, random);
+        return shuffled;
+    }
+
+
+    /**
+     * Copies the pack into a buffer and shuffles the copy, for callers that shuffle many packs
+     * without allocating. Gives the same order as shufflePack for the same random stream.
+     *
+     * @param pack the card denominations
+     * @param shuffled the buffer for the shuffled copy, as long as the pack
+     * @param random the game's random stream
+     */
+    static void shufflePackInto(int[] pack, int[] shuffled, SplittableRandom random) {
+        System.arraycopy(pack, 0, shuffled, 0, pack.length);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = card;
+        }
+    }
+
+
+    /**
+     * Loads and validates a card pack file in a single pass. Prints the reason and returns
+     * null if the pack contains negative values or non-numeric entries, or does not hold
+     * exactly the right number of cards for the given number of players.
+     * Binary packs written by BinaryPack are recognised by their header and read without parsing.
+     *
+     * @param packFilePath the path to the card pack file
+     * @param numOfPlayers the number of players in the game
+     * @return the card denominations in file order, or null if the file is invalid
+     */
+    public static int[] loadPack(String packFilePath, int numOfPlayers) {
+        try {
+            Path packFile = Paths.get(packFilePath);
+            if (BinaryPack.isBinaryPack(packFile)) {
+                return BinaryPack.read(packFile, 8 * numOfPlayers);
+            }
+            return PackReader.read(packFile, 8 * numOfPlayers);
         } catch (IllegalArgumentException e) {
-            System.out.println(e.getMessage());
+            System.out.println(e.getMessage() + "\n");
+            return null;
+        } catch (Exception e) {
+            System.out.println("Error reading file: " + packFilePath + ". " + e.getMessage());
+            return null;
         }
     }
 
@@ -210,42 +836,9 @@ public class CardGame {
      */
 
     public static Boolean validateFile(String packFilePath, int numOfPlayers) {
-        ArrayList<Integer> pack = new ArrayList<>();
-        
-        try (Scanner scanner = new Scanner(new File(packFilePath))) {
-            while (scanner.hasNext()) {
-                if (scanner.hasNextInt()) {
-                    int value = scanner.nextInt();
-                    if (value < 0) { 
-                        System.out.println("Invalid File: Pack contains negative integers in file\n");
-                        return false;
-                    }
-                    pack.add(value);
-                } else {
-                    // If non-integer values are found
-                    System.out.println("Invalid File: Pack contains non-numeric values in file\n");
-                    return false;
-                }
-            }
-    
-            // Validate pack size
-            int expectedSize = 8 * numOfPlayers;
-            if (pack.size() < expectedSize) {
-                System.out.println("Invalid File: Pack size too small (expected " + expectedSize + ", found " + pack.size() + ") in file\n");
-                return false;
-            }
-            if (pack.size() > expectedSize) {
-                System.out.println("Invalid File: Pack size too big (expected " + expectedSize + ", found " + pack.size() + ") in file\n");
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            System.out.println("Error reading file: " + packFilePath + ". " + e.getMessage());
-            return false;
-        }
+        return loadPack(packFilePath, numOfPlayers) != null;
     }
     
 }
 
     
-
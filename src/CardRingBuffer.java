@@ -0,0 +1,152 @@
+import java.util.*;
+
+/**
+ * This class is a circular buffer of cards used as the storage behind a CardDeck.
+ * Cards are drawn from the head (top of the deck) and added at the tail (bottom of the deck),
+ * so draws, discards and peeks run in constant time without shifting or allocating.
+ * It is not thread-safe; CardDeck guards it with its own lock.
+ */
+public class CardRingBuffer extends AbstractList<Card> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Card[] cards;
+    private int mask;
+    private int head; //index of the top card
+    private int size;
+
+    public CardRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CardRingBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be a non-negative integer.");
+        }
+        this.cards = new Card[roundUpToPowerOfTwo(Math.max(capacity, 1))];
+        this.mask = cards.length - 1;
+    }
+
+
+    /**
+     * Returns the number of cards the buffer can hold before it has to grow.
+     * @return the capacity of the buffer
+     */
+    public int capacity() {
+        return cards.length;
+    }
+
+
+    /**
+     * Adds a card to the tail (bottom) of the buffer.
+     * The buffer only grows if a deck is filled beyond the capacity it was sized for.
+     * @param card the card to add
+     */
+    public void addLast(Card card) {
+        if (card == null) {
+            throw new NullPointerException("Cannot add a null card.");
+        }
+        if (size == cards.length) {
+            grow();
+        }
+        cards[(head + size) & mask] = card;
+        size++;
+    }
+
+
+    /**
+     * Removes and returns the card at the head (top) of the buffer.
+     * @return the top card
+     * @throws NoSuchElementException if the buffer is empty
+     */
+    public Card removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("Buffer is empty.");
+        }
+        Card card = cards[head];
+        cards[head] = null;
+        head = (head + 1) & mask;
+        size--;
+        return card;
+    }
+
+
+    /**
+     * Returns the card at the head (top) of the buffer without removing it.
+     * @return the top card
+     * @throws NoSuchElementException if the buffer is empty
+     */
+    public Card peekFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("Buffer is empty.");
+        }
+        return cards[head];
+    }
+
+
+    @Override
+    public Card get(int index) {
+        Objects.checkIndex(index, size);
+        return cards[(head + index) & mask];
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public boolean add(Card card) {
+        addLast(card);
+        return true;
+    }
+
+
+    @Override
+    public Card remove(int index) {
+        Objects.checkIndex(index, size);
+        if (index == 0) {
+            return removeFirst();
+        }
+        // Removing from the middle is not on the game's hot path, so shift the later cards down
+        Card removed = get(index);
+        for (int i = index; i < size - 1; i++) {
+            cards[(head + i) & mask] = cards[(head + i + 1) & mask];
+        }
+        cards[(head + size - 1) & mask] = null;
+        size--;
+        return removed;
+    }
+
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            cards[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+
+    /**
+     * Doubles the capacity of the buffer, unwrapping the cards so the top card is at index 0.
+     */
+    private void grow() {
+        Card[] larger = new Card[cards.length << 1];
+        for (int i = 0; i < size; i++) {
+            larger[i] = cards[(head + i) & mask];
+        }
+        cards = larger;
+        mask = larger.length - 1;
+        head = 0;
+    }
+
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
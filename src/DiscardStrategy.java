@@ -0,0 +1,120 @@
+import java.util.SplittableRandom;
+
+/**
+ * A rule for choosing which card a player discards at the end of a turn. Strategies work on
+ * a read-only view of the hand as primitive denominations and return a position, so choosing
+ * a card allocates nothing and the same strategy runs in Player and in FastGameEngine.
+ * A strategy may keep state only if each player gets its own instance.
+ */
+@FunctionalInterface
+public interface DiscardStrategy {
+
+    /** Discards the first card that is not the preferred denomination; the original strategy. */
+    DiscardStrategy FIRST_NON_PREFERRED = (cards, from, size, preferred, random) -> {
+        for (int i = 0; i < size; i++) {
+            if (cards[from + i] != preferred) {
+                return i;
+            }
+        }
+        return -1;
+    };
+
+    /** Discards a card chosen at random among those that are not the preferred denomination. */
+    DiscardStrategy RANDOM_NON_PREFERRED = (cards, from, size, preferred, random) -> {
+        int candidates = 0;
+        for (int i = 0; i < size; i++) {
+            if (cards[from + i] != preferred) {
+                candidates++;
+            }
+        }
+        if (candidates == 0) {
+            return -1;
+        }
+        int pick = random.nextInt(candidates);
+        for (int i = 0; i < size; i++) {
+            if (cards[from + i] != preferred && pick-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    };
+
+    /**
+     * Keeps the preferred denomination and whichever other denominations the hand holds most of,
+     * discarding the first card of the rarest non-preferred denomination.
+     */
+    DiscardStrategy KEEP_PAIRS = (cards, from, size, preferred, random) -> {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            int denom = cards[from + i];
+            if (denom == preferred) {
+                continue;
+            }
+            int count = 0;
+            for (int j = 0; j < size; j++) {
+                if (cards[from + j] == denom) {
+                    count++;
+                }
+            }
+            if (count < bestCount) {
+                best = i;
+                bestCount = count;
+            }
+        }
+        return best;
+    };
+
+
+    /**
+     * Chooses the card to discard.
+     *
+     * @param cards the array holding the hand; must not be modified
+     * @param from the position of the hand's first card in the array
+     * @param size the number of cards in the hand
+     * @param preferred the player's preferred denomination
+     * @param random the player's own random stream
+     * @return the position of the card to discard, counted from the first card of the hand,
+     *         or -1 if the strategy will not discard any card
+     */
+    int chooseDiscard(int[] cards, int from, int size, int preferred, SplittableRandom random);
+
+
+    /**
+     * Returns a built-in strategy by name: "first", "random" or "pairs".
+     *
+     * @param name the strategy's name
+     * @return the strategy
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    static DiscardStrategy byName(String name) {
+        switch (name) {
+            case "first":
+                return FIRST_NON_PREFERRED;
+            case "random":
+                return RANDOM_NON_PREFERRED;
+            case "pairs":
+                return KEEP_PAIRS;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name + " (use first, random or pairs)");
+        }
+    }
+
+
+    /**
+     * Returns the name of a built-in strategy, the reverse of byName.
+     *
+     * @param strategy the strategy
+     * @return "first", "random" or "pairs", or null if the strategy is not a built-in one
+     */
+    static String nameOf(DiscardStrategy strategy) {
+        if (strategy == FIRST_NON_PREFERRED) {
+            return "first";
+        } else if (strategy == RANDOM_NON_PREFERRED) {
+            return "random";
+        } else if (strategy == KEEP_PAIRS) {
+            return "pairs";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,267 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class writes a game's audit trail as a compact binary file instead of text lines.
+ * The file starts with a header (magic, version, number of players) followed by fixed-width
+ * 16-byte records: turn, player, card, and the event type packed with the deck number.
+ * A DISCARD record also packs the position the card had in the hand, so the converter removes
+ * the same copy of a denomination the player did. A turn is recorded as just its DRAW and
+ * DISCARD, 32 bytes; the current hand and blank lines that follow every discard in the text
+ * files are rebuilt by the converter rather than recorded.
+ * Each player writes through its own buffered Writer, so records of one player appear in
+ * the file in the order they happened. EventLogConverter rebuilds the text output files.
+ *
+ * The file is written through a FileOutputStream rather than a FileChannel. Losing players are
+ * interrupted after a win, and an interrupted write to a FileChannel closes the channel for
+ * every writer, which would lose the exit and deck records that follow.
+ */
+public class EventLog implements Closeable {
+
+    static final int MAGIC = 0x43474556; //"CGEV"
+    static final int VERSION = 3;
+    static final int HEADER_BYTES = 12;
+    static final int RECORD_BYTES = 16;
+    private static final int WRITER_BUFFER_BYTES = 256 * RECORD_BYTES;
+    static final int MAX_HAND_INDEX = 15; //four bits above the four-bit event type
+
+    // Event types; the comment shows the text line each one stands for
+    public static final int DEAL = 1;           //no line: a card dealt into the player's hand
+    public static final int INITIAL_HAND = 2;   //"initial hand <hand>"
+    public static final int DRAW = 3;           //"draws <card> from Deck <deck>"
+    public static final int DISCARD = 4;        //"discards <card> to Deck <deck>"
+    public static final int CURRENT_HAND = 5;   //"Current hand: <hand>"; text only, follows every discard
+    public static final int BLANK = 6;          //""; text only, follows every current hand
+    public static final int WINS = 7;           //"Wins"
+    public static final int EXITS = 8;          //"Exits"
+    public static final int FINAL_HAND = 9;     //"final hand: <hand>"
+    public static final int INFORMED = 10;      //"Player <card> has informed player <player> that ..."
+    public static final int EXIT = 11;          //"exits"
+    public static final int EXIT_HAND = 12;     //"hand: <hand>"
+    public static final int DECK_CONTENTS = 13; //deck file header; card holds the number of cards
+    public static final int DECK_CARD = 14;     //one card of the deck file
+
+    private final FileOutputStream out;
+    private final File file;
+    private final ReentrantLock fileLock = new ReentrantLock();
+
+    public EventLog(File file, int numOfPlayers) throws IOException {
+        this.file = file;
+        this.out = new FileOutputStream(file);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(numOfPlayers).flip();
+        writeFully(header);
+    }
+
+
+    /**
+     * Returns the file the log is written to.
+     * @return the event log file
+     */
+    public File getFile() {
+        return file;
+    }
+
+
+    /**
+     * Creates a buffered writer for one player (or for the deck contents at the end of the game).
+     * @return a new writer
+     */
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+
+    /**
+     * Closes the file. Every writer must be closed first so its buffered records are written.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+
+    /**
+     * Returns the action text a record stands for, exactly as it would have been passed to
+     * Player.logAction, or null for records that do not produce a line.
+     *
+     * @param type the event type
+     * @param player the player the record belongs to
+     * @param card the card, or the winner's number for INFORMED
+     * @param deck the deck number
+     * @param hand the player's hand as a string, for the hand events
+     * @return the action text, or null
+     */
+    static String describe(int type, int player, int card, int deck, String hand) {
+        switch (type) {
+            case INITIAL_HAND: return "initial hand " + hand;
+            case DRAW: return "draws " + card + " from Deck " + deck;
+            case DISCARD: return "discards " + card + " to Deck " + deck;
+            case CURRENT_HAND: return "Current hand: " + hand;
+            case BLANK: return "";
+            case WINS: return "Wins";
+            case EXITS: return "Exits";
+            case FINAL_HAND: return "final hand: " + hand;
+            case INFORMED: return "Player " + card + " has informed player " + player + " that player " + card + " has won";
+            case EXIT: return "exits";
+            case EXIT_HAND: return "hand: " + hand;
+            default: return null;
+        }
+    }
+
+
+    /**
+     * Renders the full output line for an event straight into a buffer, with the same text as
+     * Player.formatLogLine(player, describe(...)) but without building intermediate strings.
+     *
+     * @param out the buffer to append to
+     * @param type the event type; must be one that produces a line
+     * @param player the player the record belongs to
+     * @param card the card, or the winner's number for INFORMED
+     * @param deck the deck number
+     * @param hand the player's hand, for the hand events
+     * @return the buffer
+     */
+    static StringBuilder appendLine(StringBuilder out, int type, int player, int card, int deck, Hand hand) {
+        if (type == BLANK) {
+            return out.append('\n');
+        }
+        if (type == INFORMED) {
+            return out.append("Player ").append(card).append(" has informed player ").append(player)
+                    .append(" that player ").append(card).append(" has won\n");
+        }
+        out.append("Player ").append(player).append(' ');
+        switch (type) {
+            case DRAW: return out.append("draws ").append(card).append(" from Deck ").append(deck).append('\n');
+            case DISCARD: return out.append("discards ").append(card).append(" to Deck ").append(deck).append('\n');
+            case WINS: return out.append("Wins\n");
+            case EXITS: return out.append("Exits\n");
+            case EXIT: return out.append("exits\n");
+            case INITIAL_HAND: out.append("initial hand "); break;
+            case CURRENT_HAND: out.append("Current hand: "); break;
+            case FINAL_HAND: out.append("final hand: "); break;
+            case EXIT_HAND: out.append("hand: "); break;
+            default: throw new IllegalArgumentException("Event type " + type + " has no output line.");
+        }
+        if (hand.isEmpty()) {
+            out.append("No cards in the hand");
+        } else {
+            hand.appendTo(out);
+        }
+        return out.append('\n');
+    }
+
+
+    /**
+     * Checks if an event type is written to the binary log. The lines that always follow a
+     * discard are not, as the converter can rebuild them.
+     * @param type the event type
+     * @return false for CURRENT_HAND and BLANK
+     */
+    static boolean isRecorded(int type) {
+        return type != CURRENT_HAND && type != BLANK;
+    }
+
+
+    /**
+     * Checks if the line for an event type includes the player's hand.
+     * @param type the event type
+     * @return true for the hand events
+     */
+    static boolean showsHand(int type) {
+        return type == INITIAL_HAND || type == CURRENT_HAND || type == FINAL_HAND || type == EXIT_HAND;
+    }
+
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        fileLock.lock();
+        try {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+
+    /**
+     * Buffers records for one player and writes them to the file a block at a time.
+     * Record calls are locked because the main thread flushes every writer at the end of the game,
+     * which can overlap a player that did not stop in time.
+     * A ReentrantLock is used so a virtual thread flushing the buffer does not pin its carrier.
+     */
+    public final class Writer implements Closeable {
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITER_BUFFER_BYTES);
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Writer() {
+        }
+
+        /**
+         * Appends one record to the buffer, writing the buffer out first if it is full.
+         * @param turn the player's turn count
+         * @param player the player number, 0 for deck records
+         * @param type the event type
+         * @param card the card denomination
+         * @param deck the deck number, 0 if none
+         */
+        public void record(int turn, int player, int type, int card, int deck) {
+            lock.lock();
+            try {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.putInt(turn).putInt(player).putInt(card).putInt((type << 24) | deck);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Appends a DISCARD record along with the position the card had in the hand.
+         * @param turn the player's turn count
+         * @param player the player number
+         * @param card the card denomination
+         * @param deck the deck the card was discarded to
+         * @param handIndex the card's position in the hand, counted from 0
+         * @throws IllegalArgumentException if the position does not fit in the record
+         */
+        public void recordDiscard(int turn, int player, int card, int deck, int handIndex) {
+            if (handIndex < 0 || handIndex > MAX_HAND_INDEX) {
+                throw new IllegalArgumentException("Hand index must be between 0 and " + MAX_HAND_INDEX + ".");
+            }
+            lock.lock();
+            try {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.putInt(turn).putInt(player).putInt(card).putInt((handIndex << 28) | (DISCARD << 24) | deck);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Writes the buffered records to the file.
+         */
+        public void flush() {
+            lock.lock();
+            try {
+                buffer.flip();
+                writeFully(buffer);
+            } catch (IOException e) {
+                System.out.println("Failed to write event log " + file.getName());
+            } finally {
+                buffer.clear();
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This is an offline tool that rebuilds the text output files of a game from its binary
+ * event log. It replays every player's records in order, tracking each hand so the hand
+ * lines can be rendered, and writes playerN_output.txt and deckN_output.txt exactly as a
+ * game with text logging would have.
+ *
+ * Usage: java EventLogConverter path/to/events.bin [output folder]
+ */
+public class EventLogConverter {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java EventLogConverter <events.bin> [output folder]");
+            return;
+        }
+        File eventLog = new File(args[0]);
+        File outputFolder = args.length > 1 ? new File(args[1]) : eventLog.getAbsoluteFile().getParentFile();
+        try {
+            convert(eventLog, outputFolder);
+            System.out.println(".txt output files can be found at: " + outputFolder.getAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Failed to convert event log: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Rebuilds the player and deck output files from a binary event log.
+     *
+     * @param eventLog the binary event log to read
+     * @param outputFolder the folder to write the text files to
+     * @throws IOException if the log cannot be read, is not an event log, or the files cannot be written
+     */
+    public static void convert(File eventLog, File outputFolder) throws IOException {
+        ByteBuffer log;
+        try (FileChannel channel = FileChannel.open(eventLog.toPath(), StandardOpenOption.READ)) {
+            log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (log.remaining() < EventLog.HEADER_BYTES || log.getInt() != EventLog.MAGIC) {
+            throw new IOException(eventLog.getName() + " is not an event log.");
+        }
+        int version = log.getInt();
+        if (version != EventLog.VERSION) {
+            throw new IOException("Unsupported event log version " + version + ".");
+        }
+        int numOfPlayers = log.getInt();
+
+        StringBuilder[] playerText = new StringBuilder[numOfPlayers + 1];
+        StringBuilder[] deckText = new StringBuilder[numOfPlayers + 1];
+        int[][] hands = new int[numOfPlayers + 1][8];
+        int[] handSizes = new int[numOfPlayers + 1];
+        for (int i = 1; i <= numOfPlayers; i++) {
+            playerText[i] = new StringBuilder();
+        }
+
+        while (log.remaining() >= EventLog.RECORD_BYTES) {
+            log.getInt(); //turn, kept for readers of the raw log
+            int player = log.getInt();
+            int card = log.getInt();
+            int typeAndDeck = log.getInt();
+            int type = (typeAndDeck >>> 24) & 0xF;
+            int deck = typeAndDeck & 0xFFFFFF;
+
+            // Hand changes happen before the line for the event is rendered
+            if (type == EventLog.DEAL || type == EventLog.DRAW) {
+                if (handSizes[player] == hands[player].length) {
+                    hands[player] = Arrays.copyOf(hands[player], handSizes[player] * 2);
+                }
+                hands[player][handSizes[player]++] = card;
+            } else if (type == EventLog.DISCARD) {
+                removeAt(hands[player], handSizes[player], typeAndDeck >>> 28, card);
+                handSizes[player]--;
+            } else if (type == EventLog.DECK_CONTENTS) {
+                deckText[deck] = new StringBuilder("deck" + deck + " contents: ");
+                if (card == 0) {
+                    deckText[deck].append("No cards in the deck ");
+                }
+                continue;
+            } else if (type == EventLog.DECK_CARD) {
+                deckText[deck].append(card).append(' ');
+                continue;
+            }
+
+            String hand = EventLog.showsHand(type) ? handAsString(hands[player], handSizes[player]) : null;
+            String action = EventLog.describe(type, player, card, deck, hand);
+            if (action != null) {
+                playerText[player].append(Player.formatLogLine(player, action));
+            }
+            if (type == EventLog.DISCARD) {
+                // Every discard is followed by the hand and a blank line, which are not recorded
+                hand = handAsString(hands[player], handSizes[player]);
+                playerText[player].append(Player.formatLogLine(player, EventLog.describe(EventLog.CURRENT_HAND, player, 0, 0, hand)));
+                playerText[player].append(Player.formatLogLine(player, EventLog.describe(EventLog.BLANK, player, 0, 0, null)));
+            }
+        }
+
+        if (!outputFolder.exists()) {
+            outputFolder.mkdirs();
+        }
+        for (int i = 1; i <= numOfPlayers; i++) {
+            writeFile(new File(outputFolder, "player" + i + "_output.txt"), playerText[i]);
+            if (deckText[i] != null) {
+                deckText[i].setLength(deckText[i].length() - 1); //drop the trailing space
+                deckText[i].append('\n');
+                writeFile(new File(outputFolder, "deck" + i + "_output.txt"), deckText[i]);
+            }
+        }
+    }
+
+
+    // Removes the card from the position the player discarded it from, as Hand.removeAt does
+    private static void removeAt(int[] hand, int size, int index, int card) {
+        if (index >= size || hand[index] != card) {
+            throw new IllegalStateException("Event log discards card " + card + " that is not at position " + index + " of the hand.");
+        }
+        System.arraycopy(hand, index + 1, hand, index, size - index - 1);
+    }
+
+
+    // Same format as Player.getHandAsString
+    private static String handAsString(int[] hand, int size) {
+        if (size == 0) {
+            return "No cards in the hand";
+        }
+        StringBuilder handString = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            handString.append(hand[i]).append(' ');
+        }
+        handString.deleteCharAt(handString.length() - 1);
+        return handString.toString();
+    }
+
+
+    private static void writeFile(File file, CharSequence text) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.append(text);
+        }
+    }
+}
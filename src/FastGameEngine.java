@@ -0,0 +1,167 @@
+import java.util.SplittableRandom;
+
+/**
+ * This class plays a headless game on a single thread, for statistical runs that need many
+ * games rather than a thread per player. It follows the same rules as Player and CardDeck:
+ * the same deal, the same immediate-win check, and each turn draws the top card of the left
+ * deck, appends it to the hand, discards the first card that is not the player's preferred
+ * denomination to the bottom of the right deck, then checks for four of a kind.
+ * Players take their turns round-robin from player 1, so a game is fully determined by its pack
+ * (and, for strategies that use randomness, by the random stream passed to play).
+ *
+ * All hands and decks live in flat int arrays (structure of arrays) and a turn touches a few
+ * array slots, with no objects, locks or allocation. In round-robin order every deck holds
+ * between three and five cards, so each deck is a fixed ring of eight slots.
+ * Seats can be given their own DiscardStrategy; without one the original rule is inlined.
+ */
+public final class FastGameEngine {
+
+    private static final int HAND_SLOTS = 5;
+    private static final int DECK_SLOTS = 8;
+    private static final int DECK_MASK = DECK_SLOTS - 1;
+
+    private final int numOfPlayers;
+    private final int[] hands;
+    private final int[] decks;
+    private final int[] heads;
+    private final int[] tails;
+    private final DiscardStrategy[] strategies;
+    private final SplittableRandom[] randoms;
+
+    public FastGameEngine(int numOfPlayers) {
+        this(numOfPlayers, null);
+    }
+
+
+    /**
+     * Creates an engine whose players use the given discard strategies.
+     * @param numOfPlayers the number of players
+     * @param strategies the strategy of each seat in order, or null for the original strategy everywhere
+     */
+    public FastGameEngine(int numOfPlayers, DiscardStrategy[] strategies) {
+        if (numOfPlayers < 2) {
+            throw new IllegalArgumentException("Number of players must be 2 or greater.");
+        }
+        if (strategies != null && strategies.length != numOfPlayers) {
+            throw new IllegalArgumentException("Need exactly one strategy per player.");
+        }
+        this.numOfPlayers = numOfPlayers;
+        this.strategies = strategies == null ? null : strategies.clone();
+        this.randoms = new SplittableRandom[numOfPlayers];
+        this.hands = new int[numOfPlayers * HAND_SLOTS];
+        this.decks = new int[numOfPlayers * DECK_SLOTS];
+        this.heads = new int[numOfPlayers];
+        this.tails = new int[numOfPlayers];
+    }
+
+
+    /**
+     * Deals the pack in order and plays until a player wins or the turn limit is reached.
+     * The engine's arrays are reused, so one engine can play many games of the same size.
+     *
+     * @param pack the card denominations in dealing order, exactly 8 per player
+     * @param maxTurns the most turns all players may take together before the game is called off
+     * @return the outcome of the game, with winner 0 if the turn limit was reached
+     */
+    public GameResult play(int[] pack, long maxTurns) {
+        return play(pack, maxTurns, new SplittableRandom(0));
+    }
+
+
+    /**
+     * Deals the pack in order and plays until a player wins or the turn limit is reached.
+     * Each seat gets its own stream split from the given one, in seat order.
+     *
+     * @param pack the card denominations in dealing order, exactly 8 per player
+     * @param maxTurns the most turns all players may take together before the game is called off
+     * @param random the game's random stream, used only by strategies that need one
+     * @return the outcome of the game, with winner 0 if the turn limit was reached
+     */
+    public GameResult play(int[] pack, long maxTurns, SplittableRandom random) {
+        if (pack.length != 8 * numOfPlayers) {
+            throw new IllegalArgumentException("Pack must hold exactly " + (8 * numOfPlayers) + " cards.");
+        }
+        long startTime = System.nanoTime();
+        int n = numOfPlayers;
+        int[] turns = new int[n];
+        if (strategies != null) {
+            for (int p = 0; p < n; p++) {
+                randoms[p] = random.split();
+            }
+        }
+
+        // Deal four cards to each hand, then four to each deck, round the table as CardGame does
+        for (int i = 0; i < 4 * n; i++) {
+            hands[(i % n) * HAND_SLOTS + i / n] = pack[i];
+        }
+        for (int d = 0; d < n; d++) {
+            heads[d] = 0;
+            tails[d] = 0;
+        }
+        for (int i = 4 * n; i < 8 * n; i++) {
+            int d = i % n;
+            decks[d * DECK_SLOTS + tails[d]++] = pack[i];
+        }
+
+        int winner = 0;
+        for (int p = 0; p < n && winner == 0; p++) {
+            if (isFourOfAKind(p * HAND_SLOTS)) {
+                winner = p + 1;
+            }
+        }
+
+        long totalTurns = 0;
+        while (winner == 0 && totalTurns < maxTurns) {
+            for (int p = 0; p < n; p++) {
+                int head = heads[p];
+                if (head == tails[p]) {
+                    continue; //nothing to draw yet, so the player waits for the next round
+                }
+                int hand = p * HAND_SLOTS;
+                hands[hand + 4] = decks[p * DECK_SLOTS + (head & DECK_MASK)];
+                heads[p] = head + 1;
+
+                // Discard the first card that is not the preferred denomination, keeping the hand's order
+                int preferred = p + 1;
+                int index = 0;
+                if (strategies == null) {
+                    while (hands[hand + index] == preferred) {
+                        index++;
+                    }
+                } else {
+                    index = strategies[p].chooseDiscard(hands, hand, HAND_SLOTS, preferred, randoms[p]);
+                    if (index < 0 || index >= HAND_SLOTS) {
+                        throw new IllegalStateException("Strategy of player " + preferred + " chose no card to discard.");
+                    }
+                }
+                int discarded = hands[hand + index];
+                System.arraycopy(hands, hand + index + 1, hands, hand + index, 4 - index);
+
+                int right = p + 1 == n ? 0 : p + 1;
+                int tail = tails[right];
+                if (tail - heads[right] == DECK_SLOTS) {
+                    throw new IllegalStateException("Deck " + (right + 1) + " is full.");
+                }
+                decks[right * DECK_SLOTS + (tail & DECK_MASK)] = discarded;
+                tails[right] = tail + 1;
+
+                turns[p]++;
+                totalTurns++;
+                if (isFourOfAKind(hand)) {
+                    winner = p + 1;
+                    break;
+                }
+                if (totalTurns == maxTurns) {
+                    break;
+                }
+            }
+        }
+        return new GameResult(winner, turns, System.nanoTime() - startTime);
+    }
+
+
+    private boolean isFourOfAKind(int hand) {
+        int first = hands[hand];
+        return hands[hand + 1] == first && hands[hand + 2] == first && hands[hand + 3] == first;
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class writes log text straight to a file, flushing after every write,
+ * and optionally echoes it to the console for manual inspection.
+ */
+public class FileLogSink implements LogSink {
+
+    private final File file;
+    private final BufferedWriter writer;
+    private final boolean echoToConsole;
+    private final ReentrantLock lock = new ReentrantLock(); //not a monitor, so virtual threads are not pinned during I/O
+    private char[] chars = new char[128]; //copy of appended text, reused under the lock
+
+    public FileLogSink(File file, boolean append, boolean echoToConsole) throws IOException {
+        this.file = file;
+        this.writer = new BufferedWriter(new FileWriter(file, append));
+        this.echoToConsole = echoToConsole;
+    }
+
+
+    @Override
+    public void write(String text) {
+        lock.lock();
+        try {
+            writer.write(text);
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Failed to write log file " + file.getName());
+        } finally {
+            lock.unlock();
+        }
+        if (echoToConsole) {
+            System.out.print(text); // manual terminal inspection
+        }
+    }
+
+
+    @Override
+    public void append(CharSequence text) {
+        if (!(text instanceof StringBuilder)) {
+            write(text.toString());
+            return;
+        }
+        StringBuilder builder = (StringBuilder) text;
+        int length = builder.length();
+        lock.lock();
+        try {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, 2 * chars.length)];
+            }
+            builder.getChars(0, length, chars, 0);
+            writer.write(chars, 0, length);
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Failed to write log file " + file.getName());
+        } finally {
+            lock.unlock();
+        }
+        if (echoToConsole) {
+            System.out.append(builder); // manual terminal inspection
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
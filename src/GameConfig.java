@@ -0,0 +1,655 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the settings used to run a game, such as which deck implementation
+ * the players share. A new instance holds the defaults used by the interactive game.
+ */
+public class GameConfig {
+
+    /**
+     * The deck implementation placed between neighbouring players.
+     */
+    public enum DeckType {
+        /** Deck guarded by a ReentrantLock, safe for any number of readers and writers. */
+        SYNCHRONIZED,
+        /** Lock-free single-producer/single-consumer deck. */
+        SPSC
+    }
+
+    /**
+     * The kind of thread each player's turn loop runs on.
+     */
+    public enum ThreadMode {
+        /** One platform thread, with its own OS stack, per player. */
+        PLATFORM,
+        /** One virtual thread per player; needs JDK 21 or newer. */
+        VIRTUAL
+    }
+
+    /**
+     * How a game's turns are played.
+     */
+    public enum Engine {
+        /** One thread per player, with shared decks between neighbours. */
+        THREADED,
+        /** Every player on one thread, round-robin, over flat arrays; headless games only. */
+        FAST
+    }
+
+    /**
+     * How players are paced between turns.
+     */
+    public enum Pacing {
+        /** No waiting between turns, for maximum throughput. */
+        NONE,
+        /** A fixed sleep after every turn. */
+        FIXED_DELAY,
+        /** A token bucket per player, limiting each player to the target rate. */
+        RATE_PER_PLAYER,
+        /** One token bucket shared by every player, limiting the whole game to the target rate. */
+        RATE_PER_GAME
+    }
+
+    private DeckType deckType = DeckType.SYNCHRONIZED;
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private boolean headless = false;
+    private Pacing pacing = Pacing.FIXED_DELAY;
+    private long turnDelayMillis = 500;
+    private double turnsPerSecond = 2;
+    private long deckSnapshotMillis = 1000;
+    private boolean asyncLogging = true;
+    private boolean binaryEventLog = false;
+    private boolean segmentedLogs = false;
+    private LogLevel logLevel = LogLevel.ALL;
+    private boolean jmx = false;
+    private int monitorPort = -1;
+    private Long seed = null;
+    private boolean shuffle = true;
+    private boolean metrics = false;
+    private long occupancySampleMillis = GameMetrics.DEFAULT_SAMPLE_MILLIS;
+    private Engine engine = Engine.THREADED;
+    private long maxTurns = 10_000_000;
+    private String checkpointFile = null;
+    private long checkpointMillis = 5000;
+    private DiscardStrategy strategy = DiscardStrategy.FIRST_NON_PREFERRED;
+    private final Map<Integer, DiscardStrategy> seatStrategies = new HashMap<>();
+
+
+    /**
+     * Returns the deck implementation used between players.
+     * @return the deck type
+     */
+    public DeckType getDeckType() {
+        return deckType;
+    }
+
+
+    /**
+     * Sets the deck implementation used between players.
+     * @param deckType the deck type
+     * @return this config
+     */
+    public GameConfig setDeckType(DeckType deckType) {
+        if (deckType == null) {
+            throw new IllegalArgumentException("Deck type must not be null.");
+        }
+        this.deckType = deckType;
+        return this;
+    }
+
+
+    /**
+     * Checks if the game runs headless, without console output or per-player log files.
+     * @return true if the game is headless
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+
+    /**
+     * Sets whether the game runs headless. Headless games write nothing to the console
+     * or to output files, and by default take their turns without pausing.
+     * @param headless true to run without console output or log files
+     * @return this config
+     */
+    public GameConfig setHeadless(boolean headless) {
+        this.headless = headless;
+        if (headless) {
+            this.pacing = Pacing.NONE;
+        }
+        return this;
+    }
+
+
+    /**
+     * Returns how players are paced between turns.
+     * @return the pacing policy
+     */
+    public Pacing getPacing() {
+        return pacing;
+    }
+
+
+    /**
+     * Returns how long each player pauses after a turn under fixed-delay pacing.
+     * @return the pause in milliseconds
+     */
+    public long getTurnDelayMillis() {
+        return turnDelayMillis;
+    }
+
+
+    /**
+     * Returns the target rate under rate-limited pacing.
+     * @return the turns per second, per player or for the whole game
+     */
+    public double getTurnsPerSecond() {
+        return turnsPerSecond;
+    }
+
+
+    /**
+     * Turns pacing off, so players take turns as fast as they can.
+     * @return this config
+     */
+    public GameConfig setNoPacing() {
+        this.pacing = Pacing.NONE;
+        return this;
+    }
+
+
+    /**
+     * Sets how long each player pauses after a turn, switching to fixed-delay pacing.
+     * @param turnDelayMillis the pause in milliseconds, 0 for none
+     * @return this config
+     */
+    public GameConfig setTurnDelayMillis(long turnDelayMillis) {
+        if (turnDelayMillis < 0) {
+            throw new IllegalArgumentException("Turn delay must be a non-negative number.");
+        }
+        this.pacing = turnDelayMillis == 0 ? Pacing.NONE : Pacing.FIXED_DELAY;
+        this.turnDelayMillis = turnDelayMillis;
+        return this;
+    }
+
+
+    /**
+     * Limits players to a target number of turns per second with a token bucket.
+     * @param turnsPerSecond the target rate
+     * @param wholeGame true to limit the whole game to the rate, false to limit each player
+     * @return this config
+     */
+    public GameConfig setRateLimit(double turnsPerSecond, boolean wholeGame) {
+        if (!(turnsPerSecond > 0)) {
+            throw new IllegalArgumentException("Turns per second must be a positive number.");
+        }
+        this.pacing = wholeGame ? Pacing.RATE_PER_GAME : Pacing.RATE_PER_PLAYER;
+        this.turnsPerSecond = turnsPerSecond;
+        return this;
+    }
+
+
+    /**
+     * Sets the pacing from a command-line style description:
+     * "none", "fixed:MILLIS", "rate:TURNS_PER_SECOND" (per player) or "game-rate:TURNS_PER_SECOND".
+     * @param spec the pacing description
+     * @return this config
+     * @throws IllegalArgumentException if the description is not recognised
+     */
+    public GameConfig setPacing(String spec) {
+        String[] parts = spec.split(":", 2);
+        try {
+            switch (parts[0]) {
+                case "none":
+                    return setNoPacing();
+                case "fixed":
+                    return setTurnDelayMillis(Long.parseLong(parts[1]));
+                case "rate":
+                    return setRateLimit(Double.parseDouble(parts[1]), false);
+                case "game-rate":
+                    return setRateLimit(Double.parseDouble(parts[1]), true);
+                default:
+                    break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Unknown pacing: " + spec + " (use none, fixed:MS, rate:TPS or game-rate:TPS)");
+    }
+
+
+    /**
+     * Returns the pacing as a description setPacing accepts, so it can be passed to another process.
+     * @return the pacing description
+     */
+    String getPacingSpec() {
+        switch (pacing) {
+            case FIXED_DELAY:
+                return "fixed:" + turnDelayMillis;
+            case RATE_PER_PLAYER:
+                return "rate:" + turnsPerSecond;
+            case RATE_PER_GAME:
+                return "game-rate:" + turnsPerSecond;
+            default:
+                return "none";
+        }
+    }
+
+
+    /**
+     * Returns how often the main thread prints every deck's cards while the game runs.
+     * @return the interval in milliseconds, 0 if snapshots are off
+     */
+    public long getDeckSnapshotMillis() {
+        return deckSnapshotMillis;
+    }
+
+
+    /**
+     * Sets how often the main thread prints every deck's cards while the game runs.
+     * Headless games never print snapshots.
+     * @param deckSnapshotMillis the interval in milliseconds, 0 to turn snapshots off
+     * @return this config
+     */
+    public GameConfig setDeckSnapshotMillis(long deckSnapshotMillis) {
+        if (deckSnapshotMillis < 0) {
+            throw new IllegalArgumentException("Snapshot interval must be a non-negative number.");
+        }
+        this.deckSnapshotMillis = deckSnapshotMillis;
+        return this;
+    }
+
+
+    /**
+     * Checks if player and deck output files are written by a background thread.
+     * @return true if logging is asynchronous
+     */
+    public boolean isAsyncLogging() {
+        return asyncLogging;
+    }
+
+
+    /**
+     * Sets whether player and deck output files are written by a background thread
+     * in batches, or directly by the player with a flush after every line.
+     * @param asyncLogging true to log asynchronously
+     * @return this config
+     */
+    public GameConfig setAsyncLogging(boolean asyncLogging) {
+        this.asyncLogging = asyncLogging;
+        return this;
+    }
+
+
+    /**
+     * Checks if the game writes a binary event log instead of text output files.
+     * @return true if binary event logging is on
+     */
+    public boolean isBinaryEventLog() {
+        return binaryEventLog;
+    }
+
+
+    /**
+     * Sets whether the game writes its audit trail as a binary events.bin file instead of
+     * playerN_output.txt and deckN_output.txt. EventLogConverter rebuilds the text files.
+     * @param binaryEventLog true to write a binary event log
+     * @return this config
+     */
+    public GameConfig setBinaryEventLog(boolean binaryEventLog) {
+        this.binaryEventLog = binaryEventLog;
+        return this;
+    }
+
+
+    /**
+     * Returns how much of the game's text output is written.
+     * @return the log level
+     */
+    public LogLevel getLogLevel() {
+        return logLevel;
+    }
+
+
+    /**
+     * Sets how much of the game's text output is written. Lines above the level are never
+     * rendered; at OFF no player or deck files are written at all.
+     * @param logLevel the log level
+     * @return this config
+     */
+    public GameConfig setLogLevel(LogLevel logLevel) {
+        if (logLevel == null) {
+            throw new IllegalArgumentException("Log level must not be null.");
+        }
+        this.logLevel = logLevel;
+        return this;
+    }
+
+
+    /**
+     * Checks if running games are registered as JMX MBeans.
+     * @return true if games can be watched through JMX
+     */
+    public boolean isJmx() {
+        return jmx;
+    }
+
+
+    /**
+     * Sets whether running games are registered as GameMonitor MBeans with the platform MBean server.
+     * @param jmx true to watch games through JMX
+     * @return this config
+     */
+    public GameConfig setJmx(boolean jmx) {
+        this.jmx = jmx;
+        return this;
+    }
+
+
+    /**
+     * Returns the localhost port a running game reports its state on over HTTP.
+     * @return the port, 0 for any free port, or -1 if there is no HTTP endpoint
+     */
+    public int getMonitorPort() {
+        return monitorPort;
+    }
+
+
+    /**
+     * Sets the localhost port a running game reports its state on over HTTP, at /game.
+     * @param monitorPort the port, 0 for any free port, or -1 for no HTTP endpoint
+     * @return this config
+     */
+    public GameConfig setMonitorPort(int monitorPort) {
+        if (monitorPort < -1 || monitorPort > 65535) {
+            throw new IllegalArgumentException("Monitor port must be between 0 and 65535, or -1 for none.");
+        }
+        this.monitorPort = monitorPort;
+        return this;
+    }
+
+
+    /**
+     * Checks if running games are watched by a GameMonitor, through JMX or HTTP.
+     * @return true if games are monitored
+     */
+    public boolean isMonitored() {
+        return jmx || monitorPort >= 0;
+    }
+
+
+    /**
+     * Checks if the game's text output goes into segment files instead of a file per player and deck.
+     * @return true if segmented log storage is on
+     */
+    public boolean isSegmentedLogs() {
+        return segmentedLogs;
+    }
+
+
+    /**
+     * Sets whether the game writes the text of every playerN_output.txt and deckN_output.txt
+     * into a few large segment files with an index, which keeps the number of open files and
+     * writes small for very large games. SegmentedLogStore exports the usual text files.
+     * A binary event log, if also turned on, takes precedence.
+     * @param segmentedLogs true to store the text output in segments
+     * @return this config
+     */
+    public GameConfig setSegmentedLogs(boolean segmentedLogs) {
+        this.segmentedLogs = segmentedLogs;
+        return this;
+    }
+
+
+    /**
+     * Returns how the game's turns are played.
+     * @return the engine
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+
+    /**
+     * Sets how the game's turns are played. The fast engine plays on the calling thread and
+     * writes no output, so it needs a headless game.
+     * @param engine the engine
+     * @return this config
+     */
+    public GameConfig setEngine(Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null.");
+        }
+        this.engine = engine;
+        return this;
+    }
+
+
+    /**
+     * Returns the most turns the fast engine plays before calling a game off without a winner.
+     * @return the turn limit for all players together
+     */
+    public long getMaxTurns() {
+        return maxTurns;
+    }
+
+
+    /**
+     * Sets the most turns the fast engine plays before calling a game off without a winner.
+     * Its round-robin games are deterministic, so a pack that cycles would otherwise never end.
+     * @param maxTurns the turn limit for all players together
+     * @return this config
+     */
+    public GameConfig setMaxTurns(long maxTurns) {
+        if (maxTurns < 1) {
+            throw new IllegalArgumentException("Turn limit must be a positive number.");
+        }
+        this.maxTurns = maxTurns;
+        return this;
+    }
+
+
+    /**
+     * Returns the file the game's state is checkpointed to, or null if checkpoints are off.
+     * @return the checkpoint file path
+     */
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+
+    /**
+     * Returns the interval between checkpoints.
+     * @return the interval in milliseconds
+     */
+    public long getCheckpointMillis() {
+        return checkpointMillis;
+    }
+
+
+    /**
+     * Sets where and how often threaded games write a snapshot of their state, so a game
+     * can be resumed with CardGame.resumeGame if the JVM dies. A checkpoint is skipped if no
+     * turn was taken since the last one. Checkpoints need synchronized decks.
+     * @param checkpointFile the file to write, or null to turn checkpoints off
+     * @param checkpointMillis the interval in milliseconds
+     * @return this config
+     */
+    public GameConfig setCheckpoint(String checkpointFile, long checkpointMillis) {
+        if (checkpointMillis < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be a positive number.");
+        }
+        this.checkpointFile = checkpointFile;
+        this.checkpointMillis = checkpointMillis;
+        return this;
+    }
+
+
+    /**
+     * Returns the discard strategy of the player in the given seat.
+     * @param playerNumber the player's number, starting at 1
+     * @return the player's strategy
+     */
+    public DiscardStrategy getStrategy(int playerNumber) {
+        return seatStrategies.getOrDefault(playerNumber, strategy);
+    }
+
+
+    /**
+     * Returns the discard strategy of every seat, for engines that take them as an array.
+     * @param numOfPlayers the number of players in the game
+     * @return the strategies in seat order, or null if every seat uses the original strategy
+     */
+    DiscardStrategy[] getCustomStrategies(int numOfPlayers) {
+        DiscardStrategy[] strategies = new DiscardStrategy[numOfPlayers];
+        boolean custom = false;
+        for (int i = 0; i < numOfPlayers; i++) {
+            strategies[i] = getStrategy(i + 1);
+            custom |= strategies[i] != DiscardStrategy.FIRST_NON_PREFERRED;
+        }
+        return custom ? strategies : null;
+    }
+
+
+    /**
+     * Sets the discard strategy of every player without a strategy of its own.
+     * @param strategy the strategy
+     * @return this config
+     */
+    public GameConfig setStrategy(DiscardStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy must not be null.");
+        }
+        this.strategy = strategy;
+        return this;
+    }
+
+
+    /**
+     * Sets the discard strategy of the player in the given seat.
+     * @param playerNumber the player's number, starting at 1
+     * @param strategy the strategy
+     * @return this config
+     */
+    public GameConfig setStrategy(int playerNumber, DiscardStrategy strategy) {
+        if (playerNumber < 1 || strategy == null) {
+            throw new IllegalArgumentException("Strategy needs a positive player number and must not be null.");
+        }
+        seatStrategies.put(playerNumber, strategy);
+        return this;
+    }
+
+
+    /**
+     * Checks if the game records turn, lock and deck metrics.
+     * @return true if metrics are on
+     */
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Sets whether the game records turn latency, lock waits, draws and discards per player,
+     * deck occupancy, and JFR turn and win events. Off by default; when off, players only
+     * pay a null check per turn.
+     * @param metrics true to record metrics
+     * @return this config
+     */
+    public GameConfig setMetrics(boolean metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+
+    /**
+     * Returns the interval at which deck occupancy is sampled when metrics are on.
+     * @return the interval in milliseconds
+     */
+    public long getOccupancySampleMillis() {
+        return occupancySampleMillis;
+    }
+
+
+    /**
+     * Sets the interval at which the main thread samples every deck's size for the occupancy
+     * metrics. Shorter intervals give finer distributions but wake the main thread more often
+     * during the very runs that measure performance.
+     * @param occupancySampleMillis the interval in milliseconds
+     * @return this config
+     */
+    public GameConfig setOccupancySampleMillis(long occupancySampleMillis) {
+        if (occupancySampleMillis < 1) {
+            throw new IllegalArgumentException("Occupancy sample interval must be a positive number.");
+        }
+        this.occupancySampleMillis = occupancySampleMillis;
+        return this;
+    }
+
+
+    /**
+     * Returns the seed for the game's random numbers.
+     * @return the seed, or null if every game is seeded differently
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * Seeds the shuffle and every other random choice in the game, so runs can be repeated.
+     * Games run with the same seed and pack deal the same hands and decks.
+     * @param seed the seed
+     * @return this config
+     */
+    public GameConfig setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+
+    /**
+     * Checks if the pack is shuffled before it is dealt.
+     * @return true if the pack is shuffled
+     */
+    public boolean isShuffle() {
+        return shuffle;
+    }
+
+
+    /**
+     * Sets whether the pack is shuffled before it is dealt. Without a shuffle the cards are
+     * dealt in file order, as the scenario packs expect.
+     * @param shuffle false to deal the pack in file order
+     * @return this config
+     */
+    public GameConfig setShuffle(boolean shuffle) {
+        this.shuffle = shuffle;
+        return this;
+    }
+
+
+    /**
+     * Returns the kind of thread each player runs on.
+     * @return the thread mode
+     */
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+
+    /**
+     * Sets the kind of thread each player runs on.
+     * @param threadMode the thread mode
+     * @return this config
+     */
+    public GameConfig setThreadMode(ThreadMode threadMode) {
+        if (threadMode == null) {
+            throw new IllegalArgumentException("Thread mode must not be null.");
+        }
+        this.threadMode = threadMode;
+        return this;
+    }
+}
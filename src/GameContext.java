@@ -0,0 +1,306 @@
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+/**
+ * This class holds the state shared by every player in a single game:
+ * the game's settings, the winner, the flag raised once the game is over, a latch
+ * that lets the main thread sleep until that happens, the writer behind
+ * the game's output files, and the game's own stream of random numbers.
+ */
+public class GameContext {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int INTS_PER_LINE = 16; //64-byte cache line
+
+    private final GameConfig config;
+    private final AtomicBoolean gameEnded;
+    private final CountDownLatch gameOver = new CountDownLatch(1);
+    // The winner's number sits a cache line from either end of its array. Every player reads it
+    // once per turn, and it is written once, so the line stays shared in every core's cache
+    private final int[] winner = new int[2 * INTS_PER_LINE];
+    private IntConsumer winClaims; //set before the players start when another process decides the winner
+    private final AtomicBoolean winClaimed = new AtomicBoolean(false);
+    private AsyncLogWriter asyncLogWriter;
+    private SegmentedLogStore logStore;
+    private EventLog eventLog;
+    private GameMetrics metrics;
+    private final TurnPacing sharedPacing; //the game-wide token bucket, if the game is rate-limited as a whole
+    private final SplittableRandom random;
+
+    public GameContext(GameConfig config) {
+        this(config, new AtomicBoolean(false));
+    }
+
+    public GameContext(GameConfig config, AtomicBoolean gameEnded) {
+        this(config, gameEnded, config == null || config.getSeed() == null
+                ? new SplittableRandom() : new SplittableRandom(config.getSeed()));
+    }
+
+    public GameContext(GameConfig config, SplittableRandom random) {
+        this(config, new AtomicBoolean(false), random);
+    }
+
+    private GameContext(GameConfig config, AtomicBoolean gameEnded, SplittableRandom random) {
+        if (config == null || gameEnded == null || random == null) {
+            throw new IllegalArgumentException("Game config, end flag and random source must not be null.");
+        }
+        this.config = config;
+        this.gameEnded = gameEnded;
+        this.random = random;
+        this.sharedPacing = config.getPacing() == GameConfig.Pacing.RATE_PER_GAME
+                ? TurnPacing.rateLimited(config.getTurnsPerSecond()) : null;
+    }
+
+
+    /**
+     * Returns the settings for this game.
+     * @return the game config
+     */
+    public GameConfig getConfig() {
+        return config;
+    }
+
+
+    /**
+     * Returns the game's random stream, used by the main thread to shuffle the pack.
+     * Anything random on a player's thread should use its own stream split from this one
+     * during setup, so a seeded game draws the same numbers however the threads interleave.
+     * @return the game's random stream
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+
+    /**
+     * Returns the flag that is set once the game has ended.
+     * @return the game-ended flag
+     */
+    public AtomicBoolean getGameEnded() {
+        return gameEnded;
+    }
+
+
+    /**
+     * Checks if the game has ended.
+     * @return true once a player has won, false otherwise
+     */
+    public boolean isGameEnded() {
+        return gameEnded.get();
+    }
+
+
+    /**
+     * Returns the pacing policy for one player, chosen by the config. Players of a game
+     * limited as a whole share one policy; otherwise each player gets its own.
+     * @return the player's pacing policy
+     */
+    public TurnPacing newTurnPacing() {
+        switch (config.getPacing()) {
+            case FIXED_DELAY:
+                return TurnPacing.fixedDelay(config.getTurnDelayMillis());
+            case RATE_PER_PLAYER:
+                return TurnPacing.rateLimited(config.getTurnsPerSecond());
+            case RATE_PER_GAME:
+                return sharedPacing;
+            default:
+                return TurnPacing.none();
+        }
+    }
+
+
+    /**
+     * Records the winner of the game, if no other player has won first, and wakes every thread
+     * waiting for the end of the game. Players notice the win at the start of their next turn.
+     * In a game split across processes the win is claimed instead, and this waits for the decision.
+     * @param playerNumber the winning player's number
+     * @return true if this player is the winner, false if another player won first
+     */
+    public boolean declareWinner(int playerNumber) {
+        IntConsumer claims = winClaims;
+        if (claims == null) {
+            return acceptWinner(playerNumber);
+        }
+        // Only one player of this process claims; the decision comes back through acceptWinner
+        if (!winClaimed.compareAndSet(false, true)) {
+            return false;
+        }
+        claims.accept(playerNumber);
+        try {
+            gameOver.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return getWinner() == playerNumber;
+    }
+
+
+    /**
+     * Records a winner, if none is recorded yet, and wakes every thread waiting for the end of the game.
+     * Used directly by the thread that hears the decision when the winner is decided by another process.
+     * @param playerNumber the winning player's number
+     * @return true if this player is now the recorded winner, false if a winner was already recorded
+     */
+    boolean acceptWinner(int playerNumber) {
+        if (!SLOT.compareAndSet(winner, INTS_PER_LINE, 0, playerNumber)) {
+            return false;
+        }
+        gameOver.countDown();
+        return true;
+    }
+
+
+    /**
+     * Hands wins to another process to decide, for a game whose players run in several processes.
+     * A player that wins sends its number to the consumer and waits until acceptWinner records
+     * the decision. Must be called before the players start.
+     * @param winClaims sends a player's claim to the process that decides the winner
+     */
+    void setWinClaims(IntConsumer winClaims) {
+        this.winClaims = winClaims;
+    }
+
+
+    /**
+     * Returns the winner of the game.
+     * @return the winning player's number, or 0 while nobody has won
+     */
+    public int getWinner() {
+        return (int) SLOT.getAcquire(winner, INTS_PER_LINE);
+    }
+
+
+    /**
+     * Marks the game as ended and wakes every thread waiting for the end of the game.
+     * After this, players log nothing more.
+     */
+    public void signalGameEnded() {
+        gameEnded.set(true);
+        gameOver.countDown();
+    }
+
+
+    /**
+     * Blocks until a player wins or the end of the game is signalled.
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitGameEnded() throws InterruptedException {
+        gameOver.await();
+    }
+
+
+    /**
+     * Blocks until a player wins, the end of the game is signalled, or the timeout passes.
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the game has ended, false if the timeout passed first
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitGameEnded(long timeout, TimeUnit unit) throws InterruptedException {
+        return gameOver.await(timeout, unit);
+    }
+
+
+    /**
+     * Opens an output file the way the config asks for: as a stream in the game's segmented
+     * log store, through the shared background writer, or directly. Headless games have no output files.
+     * @param file the file to open
+     * @param append true to add to the end of an existing file, false to replace it
+     * @param echoToConsole true to also print everything written to the file
+     * @return a sink for the file, or null if the game is headless
+     * @throws IOException if the file cannot be opened
+     */
+    public LogSink openLog(File file, boolean append, boolean echoToConsole) throws IOException {
+        if (config.isHeadless()) {
+            return null;
+        }
+        if (config.isSegmentedLogs()) {
+            synchronized (this) {
+                if (logStore == null) {
+                    logStore = new SegmentedLogStore(file.getParentFile());
+                }
+            }
+            return logStore.open(file.getName(), echoToConsole);
+        }
+        if (config.isAsyncLogging()) {
+            synchronized (this) {
+                if (asyncLogWriter == null) {
+                    asyncLogWriter = new AsyncLogWriter();
+                }
+            }
+            return asyncLogWriter.open(file, append, echoToConsole);
+        }
+        return new FileLogSink(file, append, echoToConsole);
+    }
+
+
+    /**
+     * Creates the game's binary event log in the game folder, if the config asks for one.
+     * Must be called before the players are created.
+     * @param gameFolder the folder for the game's output files
+     * @param numOfPlayers the number of players in the game
+     * @throws IOException if the file cannot be created
+     */
+    public void openEventLog(File gameFolder, int numOfPlayers) throws IOException {
+        if (config.isBinaryEventLog() && !config.isHeadless()) {
+            eventLog = new EventLog(new File(gameFolder, "events.bin"), numOfPlayers);
+        }
+    }
+
+
+    /**
+     * Returns the game's binary event log.
+     * @return the event log, or null if the game writes text output files
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+
+    /**
+     * Creates the game's metrics registry, if the config asks for metrics.
+     * Must be called before the decks and players are created.
+     * @param numOfPlayers the number of players in the game
+     */
+    public void createMetrics(int numOfPlayers) {
+        if (config.isMetrics()) {
+            metrics = new GameMetrics(numOfPlayers);
+        }
+    }
+
+
+    /**
+     * Returns the game's metrics registry.
+     * @return the metrics, or null if metrics are off
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Stops the background log writer, if one was started, once everything queued is written,
+     * and closes the binary event log and the segmented log store.
+     * @throws IOException if the writer could not be stopped cleanly
+     */
+    public synchronized void closeLogs() throws IOException {
+        if (asyncLogWriter != null) {
+            asyncLogWriter.close();
+            asyncLogWriter = null;
+        }
+        if (eventLog != null) {
+            eventLog.close();
+        }
+        if (logStore != null) {
+            logStore.close();
+            logStore = null;
+        }
+    }
+}
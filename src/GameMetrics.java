@@ -0,0 +1,201 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is the registry of counters and histograms for one game, created only when
+ * metrics are turned on. Players and decks hold a direct reference to their own entry and
+ * skip recording when it is null, so a game without metrics pays one null check per turn.
+ *
+ * Player entries are written only by that player's thread, and deck occupancy only by the
+ * main thread, so they are plain fields. Lock waits can come from both players sharing a
+ * deck, so they are LongAdders. Everything is read once the game has finished.
+ */
+public class GameMetrics {
+
+    static final long DEFAULT_SAMPLE_MILLIS = 50; //deck occupancy; coarse, so the main thread rarely wakes
+
+    private final PlayerMetrics[] players;
+    private final DeckMetrics[] decks;
+
+    public GameMetrics(int numOfPlayers) {
+        players = new PlayerMetrics[numOfPlayers];
+        decks = new DeckMetrics[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            players[i] = new PlayerMetrics();
+            decks[i] = new DeckMetrics();
+        }
+    }
+
+
+    /**
+     * Returns the metrics of a player.
+     * @param playerNumber the player's number, starting at 1
+     * @return the player's metrics
+     */
+    public PlayerMetrics player(int playerNumber) {
+        return players[playerNumber - 1];
+    }
+
+
+    /**
+     * Returns the metrics of a deck.
+     * @param deckId the deck's ID, starting at 1
+     * @return the deck's metrics
+     */
+    public DeckMetrics deck(int deckId) {
+        return decks[deckId - 1];
+    }
+
+
+    /**
+     * Records the current size of every deck, building each deck's occupancy over the game.
+     * @param deckSizes the deck sizes, in deck order
+     */
+    void sampleOccupancy(int[] deckSizes) {
+        for (int i = 0; i < decks.length; i++) {
+            decks[i].occupancy.record(deckSizes[i]);
+        }
+    }
+
+
+    /**
+     * Returns the turn latencies of every player together.
+     * @return the merged histogram
+     */
+    public Log2Histogram getTurnLatency() {
+        Log2Histogram all = new Log2Histogram();
+        for (PlayerMetrics player : players) {
+            all.add(player.turnLatency);
+        }
+        return all;
+    }
+
+
+    /**
+     * Returns a report with one line for the whole game, then one line per player and per deck.
+     * Times are in nanoseconds unless the name says otherwise.
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        Log2Histogram turns = getTurnLatency();
+        StringBuilder report = new StringBuilder();
+        report.append("metrics turns=").append(turns.getCount())
+                .append(" turnP50Ns=").append(turns.getPercentile(50))
+                .append(" turnP99Ns=").append(turns.getPercentile(99))
+                .append(" turnMaxNs=").append(turns.getMax());
+        for (int i = 0; i < players.length; i++) {
+            PlayerMetrics player = players[i];
+            report.append("\nplayer=").append(i + 1)
+                    .append(" turns=").append(player.turns)
+                    .append(" draws=").append(player.draws)
+                    .append(" discards=").append(player.discards)
+                    .append(" turnP50Ns=").append(player.turnLatency.getPercentile(50))
+                    .append(" turnP99Ns=").append(player.turnLatency.getPercentile(99))
+                    .append(" logMeanNs=").append(String.format("%.0f", player.logLatency.getMean()));
+        }
+        for (int i = 0; i < decks.length; i++) {
+            DeckMetrics deck = decks[i];
+            report.append("\ndeck=").append(i + 1)
+                    .append(" emptyPolls=").append(deck.emptyPolls)
+                    .append(" lockWaits=").append(deck.lockWaits.sum())
+                    .append(" lockWaitNs=").append(deck.lockWaitNanos.sum())
+                    .append(" occupancyMean=").append(String.format("%.1f", deck.occupancy.getMean()))
+                    .append(" occupancyMax=").append(deck.occupancy.getMax());
+        }
+        return report.toString();
+    }
+
+
+    /**
+     * Counters and histograms written by one player's thread.
+     */
+    public static final class PlayerMetrics {
+        long turns;
+        long draws;
+        long discards;
+        final Log2Histogram turnLatency = new Log2Histogram();
+        final Log2Histogram logLatency = new Log2Histogram();
+
+        /**
+         * Records a completed turn: one draw, one discard and how long the turn took.
+         * @param nanos the turn's duration
+         */
+        void recordTurn(long nanos) {
+            turns++;
+            draws++;
+            discards++;
+            turnLatency.record(nanos);
+        }
+
+        /**
+         * Records how long writing one log line took.
+         * @param nanos the time spent logging
+         */
+        void recordLog(long nanos) {
+            logLatency.record(nanos);
+        }
+
+        public long getTurns() {
+            return turns;
+        }
+
+        public long getDraws() {
+            return draws;
+        }
+
+        public long getDiscards() {
+            return discards;
+        }
+
+        public Log2Histogram getTurnLatency() {
+            return turnLatency;
+        }
+
+        public Log2Histogram getLogLatency() {
+            return logLatency;
+        }
+    }
+
+
+    /**
+     * Counters and histograms for one deck.
+     */
+    public static final class DeckMetrics {
+        final LongAdder lockWaits = new LongAdder();
+        final LongAdder lockWaitNanos = new LongAdder();
+        long emptyPolls; //written only by the player drawing from the deck
+        final Log2Histogram occupancy = new Log2Histogram(); //written only by the main thread
+
+        /**
+         * Records that a player had to wait for the deck's lock.
+         * @param nanos how long the player waited
+         */
+        void recordLockWait(long nanos) {
+            lockWaits.increment();
+            lockWaitNanos.add(nanos);
+        }
+
+        /**
+         * Records that the player drawing from the deck found it empty.
+         */
+        void recordEmpty() {
+            emptyPolls++;
+        }
+
+        public long getLockWaits() {
+            return lockWaits.sum();
+        }
+
+        public long getLockWaitNanos() {
+            return lockWaitNanos.sum();
+        }
+
+        public long getEmptyPolls() {
+            return emptyPolls;
+        }
+
+        public Log2Histogram getOccupancy() {
+            return occupancy;
+        }
+    }
+}
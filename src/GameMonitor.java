@@ -0,0 +1,262 @@
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class lets a running game be watched from outside: as a GameMonitorMBean registered
+ * with the platform MBean server, and as a JSON document served on localhost at /game.
+ *
+ * Every reading is a snapshot of counters the game keeps anyway: each deck's size, and each
+ * player's turn count and best count of one denomination, which players publish with opaque
+ * stores after their turn. No deck or player lock is taken, so a reading may be a turn behind
+ * for some players but never holds up a turn. The readings are taken on the JMX or HTTP thread;
+ * the game itself does no extra work for a monitor beyond one store per turn.
+ */
+public final class GameMonitor implements GameMonitorMBean {
+
+    private static final long RATE_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100); //shortest interval a rate is measured over
+    private static final AtomicInteger GAMES = new AtomicInteger();
+
+    private final GameContext context;
+    private final Player[] players;
+    private final CardDeck[] decks;
+    private final long startNanos = System.nanoTime();
+    private final ReentrantLock rateLock = new ReentrantLock(); //only taken by threads reading the monitor
+    private long lastTotal;
+    private long lastNanos = startNanos;
+    private double lastRate;
+    private ObjectName name;
+    private HttpServer server;
+
+    public GameMonitor(GameContext context, Player[] players, CardDeck[] decks) {
+        if (players.length == 0 || decks.length != players.length) {
+            throw new IllegalArgumentException("A monitor needs one deck for each player.");
+        }
+        this.context = context;
+        this.players = players.clone();
+        this.decks = decks.clone();
+        this.lastTotal = getTotalTurns(); //a resumed game starts with its restored turns
+    }
+
+
+    /**
+     * Starts watching a game the way its config asks for. A failure to register the MBean or
+     * open the port is reported and leaves the game unwatched rather than stopping it.
+     *
+     * @param context the game's shared state
+     * @param players the game's players, in seat order
+     * @param decks the game's decks, in seat order
+     * @return the monitor, to be closed when the game ends
+     */
+    static GameMonitor start(GameContext context, Player[] players, CardDeck[] decks) {
+        GameConfig config = context.getConfig();
+        GameMonitor monitor = new GameMonitor(context, players, decks);
+        int game = GAMES.incrementAndGet();
+        if (config.isJmx()) {
+            try {
+                monitor.registerMBean("CardGame:type=GameMonitor,name=game-" + game);
+            } catch (JMException e) {
+                System.out.println("Failed to register game monitor: " + e.getMessage());
+            }
+        }
+        if (config.getMonitorPort() >= 0) {
+            try {
+                int port = monitor.startHttp(config.getMonitorPort());
+                if (!config.isHeadless()) System.out.println("Game state can be found at: http://localhost:" + port + "/game\n");
+            } catch (IOException e) {
+                System.out.println("Failed to start game monitor on port " + config.getMonitorPort() + ": " + e.getMessage());
+            }
+        }
+        return monitor;
+    }
+
+
+    /**
+     * Registers this monitor with the platform MBean server.
+     * @param objectName the name to register it under
+     * @throws JMException if the name is invalid or already taken
+     */
+    public void registerMBean(String objectName) throws JMException {
+        ObjectName mbeanName = new ObjectName(objectName);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbeanName);
+        name = mbeanName;
+    }
+
+
+    /**
+     * Serves this monitor's readings as JSON at /game on a localhost port.
+     * @param port the port, 0 for any free port
+     * @return the port the endpoint is listening on
+     * @throws IOException if the port cannot be opened
+     */
+    public int startHttp(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/game", exchange -> {
+            try {
+                byte[] body = toJson().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        http.start();
+        server = http;
+        return http.getAddress().getPort();
+    }
+
+
+    /**
+     * Unregisters the MBean and stops the HTTP endpoint, whichever were started.
+     */
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (name != null) {
+            MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+            try {
+                mbeans.unregisterMBean(name);
+            } catch (JMException e) {
+                System.out.println("Failed to unregister game monitor: " + e.getMessage());
+            }
+            name = null;
+        }
+    }
+
+
+    @Override
+    public int[] getDeckSizes() {
+        int[] sizes = new int[decks.length];
+        for (int i = 0; i < decks.length; i++) {
+            sizes[i] = decks[i].getDeckSize();
+        }
+        return sizes;
+    }
+
+
+    @Override
+    public int[] getTurns() {
+        int[] turns = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            turns[i] = players[i].sampleTurnCount();
+        }
+        return turns;
+    }
+
+
+    @Override
+    public long getTotalTurns() {
+        long total = 0;
+        for (Player p : players) {
+            total += p.sampleTurnCount();
+        }
+        return total;
+    }
+
+
+    @Override
+    public int getLeader() {
+        int winner = context.getWinner();
+        if (winner != 0) {
+            return winner;
+        }
+        int leader = 0;
+        for (int i = 1; i < players.length; i++) {
+            if (players[i].sampleOfAKind() > players[leader].sampleOfAKind()) {
+                leader = i;
+            }
+        }
+        return players[leader].getPlayerNumber();
+    }
+
+
+    @Override
+    public int getLeaderOfAKind() {
+        int leader = getLeader();
+        for (Player p : players) {
+            if (p.getPlayerNumber() == leader) {
+                return p.sampleOfAKind();
+            }
+        }
+        return 0;
+    }
+
+
+    @Override
+    public double getTurnsPerSecond() {
+        rateLock.lock();
+        try {
+            long now = System.nanoTime();
+            // Readings closer together than the window share a rate, so frequent polling stays smooth
+            if (now - lastNanos >= RATE_WINDOW_NANOS) {
+                long total = getTotalTurns();
+                lastRate = (total - lastTotal) * 1e9 / (now - lastNanos);
+                lastTotal = total;
+                lastNanos = now;
+            }
+            return lastRate;
+        } finally {
+            rateLock.unlock();
+        }
+    }
+
+
+    @Override
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+
+    @Override
+    public int getWinner() {
+        return context.getWinner();
+    }
+
+
+    /**
+     * Returns every reading as one JSON object.
+     * @return the game's state as JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(64 + 12 * players.length);
+        json.append("{\"elapsedMillis\":").append(getElapsedMillis())
+            .append(",\"winner\":").append(getWinner())
+            .append(",\"leader\":").append(getLeader())
+            .append(",\"leaderOfAKind\":").append(getLeaderOfAKind())
+            .append(",\"totalTurns\":").append(getTotalTurns())
+            .append(",\"turnsPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getTurnsPerSecond()))
+            .append(",\"turns\":");
+        appendArray(json, getTurns());
+        json.append(",\"deckSizes\":");
+        appendArray(json, getDeckSizes());
+        return json.append('}').toString();
+    }
+
+
+    private static void appendArray(StringBuilder json, int[] values) {
+        json.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(values[i]);
+        }
+        json.append(']');
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * The live state of a running game, as seen through JMX. Every value is read from counters
+ * the players and decks publish without locks, so reading it never holds up a turn.
+ */
+public interface GameMonitorMBean {
+
+    /**
+     * Returns the number of cards in each deck.
+     * @return the deck sizes, in deck order
+     */
+    int[] getDeckSizes();
+
+    /**
+     * Returns the number of turns each player has completed.
+     * @return the turn counts, in seat order
+     */
+    int[] getTurns();
+
+    /**
+     * Returns the number of turns all players have completed together.
+     * @return the total turn count
+     */
+    long getTotalTurns();
+
+    /**
+     * Returns the player closest to winning: the winner once there is one, otherwise the
+     * player holding the most cards of one denomination, the lowest seat on a tie.
+     * @return the leading player's number
+     */
+    int getLeader();
+
+    /**
+     * Returns how many cards of one denomination the leader holds.
+     * @return the leader's count of its most common denomination
+     */
+    int getLeaderOfAKind();
+
+    /**
+     * Returns the turns taken per second by all players, measured since the previous reading.
+     * @return the recent turn rate
+     */
+    double getTurnsPerSecond();
+
+    /**
+     * Returns the time since the monitor started watching the game.
+     * @return the elapsed time in milliseconds
+     */
+    long getElapsedMillis();
+
+    /**
+     * Returns the winner of the game.
+     * @return the winning player's number, or 0 while nobody has won
+     */
+    int getWinner();
+}
@@ -0,0 +1,93 @@
+/**
+ * This class records the outcome of a finished game: who won,
+ * how many turns each player took and how long the game ran for.
+ */
+public class GameResult {
+
+    private final int winner;
+    private final int[] turnsPerPlayer;
+    private final long wallTimeNanos;
+    private final GameMetrics metrics;
+
+    public GameResult(int winner, int[] turnsPerPlayer, long wallTimeNanos) {
+        this(winner, turnsPerPlayer, wallTimeNanos, null);
+    }
+
+    public GameResult(int winner, int[] turnsPerPlayer, long wallTimeNanos, GameMetrics metrics) {
+        this.winner = winner;
+        this.turnsPerPlayer = turnsPerPlayer.clone();
+        this.wallTimeNanos = wallTimeNanos;
+        this.metrics = metrics;
+    }
+
+
+    /**
+     * Returns the number of the winning player.
+     * @return the winner's player number, or 0 if nobody won
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+
+    /**
+     * Returns the number of turns taken by the given player.
+     * @param playerNumber the player's number, starting at 1
+     * @return the player's turn count
+     */
+    public int getTurns(int playerNumber) {
+        return turnsPerPlayer[playerNumber - 1];
+    }
+
+
+    /**
+     * Returns the number of turns taken by all players together.
+     * @return the total turn count
+     */
+    public long getTotalTurns() {
+        long total = 0;
+        for (int turns : turnsPerPlayer) {
+            total += turns;
+        }
+        return total;
+    }
+
+
+    /**
+     * Returns the number of players in the game.
+     * @return the player count
+     */
+    public int getNumOfPlayers() {
+        return turnsPerPlayer.length;
+    }
+
+
+    /**
+     * Returns how long the game ran for, from dealing the cards to the last player stopping.
+     * @return the wall time in nanoseconds
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+
+    /**
+     * Returns the metrics recorded during the game.
+     * @return the metrics, or null if the game did not record metrics
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Returns a one-line summary of the game.
+     * @return the winner, turn counts and wall time as a string
+     */
+    @Override
+    public String toString() {
+        return "winner=" + winner + " turns=" + getTotalTurns()
+                + " winnerTurns=" + (winner > 0 ? getTurns(winner) : 0)
+                + " wallMs=" + String.format("%.3f", wallTimeNanos / 1_000_000.0);
+    }
+}
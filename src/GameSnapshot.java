@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class holds the state of a game at a consistent point between turns: every player's
+ * hand, every deck's cards in order, and every player's turn count. A game resumed from a
+ * snapshot continues with exactly these cards; random choices after that point come from the
+ * resumed game's own stream.
+ *
+ * A snapshot is taken while every player's turn lock is held, so no card is between a deck
+ * and a hand. Players waiting for a card hold no lock, and a player mid-turn is only waited
+ * for until its turn ends, so the game pauses for about as long as copying 8 ints per player.
+ *
+ * The file is a 20-byte header (magic, version, number of players, number of ints in the body,
+ * CRC32 of the body) followed by big-endian ints: for each player its turn count, hand size and
+ * cards, then for each deck its size and cards. A new file is written next to the old one and
+ * moved over it, so a crash mid-write leaves the previous checkpoint intact.
+ */
+public final class GameSnapshot {
+
+    static final int MAGIC = 0x4347534E; //"CGSN"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+
+    private final int[] turns;
+    private final int[][] hands;
+    private final int[][] decks;
+
+    GameSnapshot(int[] turns, int[][] hands, int[][] decks) {
+        if (turns.length < 2 || hands.length != turns.length || decks.length != turns.length) {
+            throw new IllegalArgumentException("A snapshot needs a turn count, hand and deck for each of at least 2 players.");
+        }
+        this.turns = turns;
+        this.hands = hands;
+        this.decks = decks;
+    }
+
+
+    /**
+     * Pauses the game between turns and copies its state. Must not be called by a player thread.
+     *
+     * @param players the game's players, in seat order
+     * @param decks the game's decks, in seat order
+     * @return the snapshot
+     */
+    static GameSnapshot capture(Player[] players, CardDeck[] decks) {
+        int n = players.length;
+        int[] turns = new int[n];
+        int[][] hands = new int[n][];
+        int[][] deckCards = new int[n][];
+        int locked = 0;
+        try {
+            // Players hold only their own turn lock, so taking them all in seat order cannot deadlock
+            for (; locked < n; locked++) {
+                players[locked].lockTurns();
+            }
+            for (int i = 0; i < n; i++) {
+                turns[i] = players[i].getTurnCount();
+                hands[i] = players[i].getHandDenoms();
+                List<Card> cards = decks[i].getDeckCards();
+                deckCards[i] = new int[cards.size()];
+                for (int c = 0; c < deckCards[i].length; c++) {
+                    deckCards[i][c] = cards.get(c).getDenom();
+                }
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                players[i].unlockTurns();
+            }
+        }
+        return new GameSnapshot(turns, hands, deckCards);
+    }
+
+
+    /**
+     * Returns the number of players in the game.
+     * @return the number of players
+     */
+    public int getNumOfPlayers() {
+        return turns.length;
+    }
+
+
+    /**
+     * Returns the number of turns a player had completed.
+     * @param playerNumber the player's number, starting at 1
+     * @return the player's turn count
+     */
+    public int getTurns(int playerNumber) {
+        return turns[playerNumber - 1];
+    }
+
+
+    /**
+     * Returns the number of turns all players had completed together.
+     * @return the total turn count
+     */
+    public long getTotalTurns() {
+        long total = 0;
+        for (int t : turns) {
+            total += t;
+        }
+        return total;
+    }
+
+
+    /**
+     * Returns a player's hand in hand order.
+     * @param playerNumber the player's number, starting at 1
+     * @return a copy of the hand's denominations
+     */
+    public int[] getHand(int playerNumber) {
+        return hands[playerNumber - 1].clone();
+    }
+
+
+    /**
+     * Returns a deck's cards from top to bottom.
+     * @param deckId the deck's number, starting at 1
+     * @return a copy of the deck's denominations
+     */
+    public int[] getDeck(int deckId) {
+        return decks[deckId - 1].clone();
+    }
+
+
+    /**
+     * Writes the snapshot, replacing the file only once the new contents are complete.
+     *
+     * @param file the checkpoint file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        int n = turns.length;
+        int ints = 2 * n;
+        for (int i = 0; i < n; i++) {
+            ints += 1 + hands[i].length + decks[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * ints);
+        buffer.position(HEADER_BYTES);
+        for (int i = 0; i < n; i++) {
+            buffer.putInt(turns[i]).putInt(hands[i].length);
+            for (int denom : hands[i]) {
+                buffer.putInt(denom);
+            }
+        }
+        for (int[] deck : decks) {
+            buffer.putInt(deck.length);
+            for (int denom : deck) {
+                buffer.putInt(denom);
+            }
+        }
+        buffer.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, n).putInt(12, ints).putInt(16, (int) crc.getValue());
+        buffer.rewind();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    /**
+     * Reads and checks a snapshot written by write.
+     *
+     * @param file the checkpoint file
+     * @return the snapshot
+     * @throws IllegalArgumentException if the file is truncated, corrupt or not a snapshot
+     * @throws IOException if the file cannot be read
+     */
+    public static GameSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Invalid File: Not a game snapshot: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Invalid File: Unsupported snapshot version " + buffer.getInt(4) + ": " + file);
+        }
+        int n = buffer.getInt(8);
+        int ints = buffer.getInt(12);
+        if (n < 2 || ints < 0 || (long) HEADER_BYTES + 4L * ints != buffer.capacity()) {
+            throw new IllegalArgumentException("Invalid File: Snapshot is truncated: " + file);
+        }
+        buffer.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        if ((int) crc.getValue() != buffer.getInt(16)) {
+            throw new IllegalArgumentException("Invalid File: Snapshot checksum does not match: " + file);
+        }
+
+        buffer.position(HEADER_BYTES);
+        try {
+            int[] turns = new int[n];
+            int[][] hands = new int[n][];
+            int[][] decks = new int[n][];
+            for (int i = 0; i < n; i++) {
+                turns[i] = buffer.getInt();
+                hands[i] = readCards(buffer);
+            }
+            for (int i = 0; i < n; i++) {
+                decks[i] = readCards(buffer);
+            }
+            return new GameSnapshot(turns, hands, decks);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid File: Snapshot is corrupt: " + file);
+        }
+    }
+
+
+    private static int[] readCards(ByteBuffer buffer) {
+        int[] cards = new int[buffer.getInt()];
+        for (int c = 0; c < cards.length; c++) {
+            cards[c] = buffer.getInt();
+        }
+        return cards;
+    }
+}
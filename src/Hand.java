@@ -0,0 +1,139 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This class holds the denominations of the cards in a player's hand as a primitive array.
+ * It is sized for the usual four cards plus the one drawn during a turn, keeps the cards
+ * in the order they were added, and keeps a HandHistogram up to date so the win check
+ * stays constant-time. Adding, removing and checking for a win never allocate.
+ */
+public class Hand {
+
+    private static final int DEFAULT_CAPACITY = 5; //four cards plus one drawn during a turn
+
+    private int[] denoms = new int[DEFAULT_CAPACITY];
+    private int size;
+    private final HandHistogram counts = new HandHistogram();
+
+
+    /**
+     * Adds a card to the end of the hand.
+     * @param denom the denomination of the card
+     */
+    public void add(int denom) {
+        if (size == denoms.length) {
+            denoms = Arrays.copyOf(denoms, size * 2);
+        }
+        denoms[size++] = denom;
+        counts.add(denom);
+    }
+
+
+    /**
+     * Removes the card at the given position, keeping the order of the other cards.
+     * @param index the position of the card
+     * @return the denomination of the removed card
+     */
+    public int removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No card at position " + index + " in the hand.");
+        }
+        int denom = denoms[index];
+        System.arraycopy(denoms, index + 1, denoms, index, size - index - 1);
+        size--;
+        counts.remove(denom);
+        return denom;
+    }
+
+
+    /**
+     * Returns the denomination of the card at the given position.
+     * @param index the position of the card
+     * @return the card's denomination
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No card at position " + index + " in the hand.");
+        }
+        return denoms[index];
+    }
+
+
+    /**
+     * Returns the position of the first card whose denomination differs from the given one.
+     * @param denom the denomination to skip over
+     * @return the position of the card, or -1 if every card has that denomination
+     */
+    public int indexOfFirstOtherThan(int denom) {
+        for (int i = 0; i < size; i++) {
+            if (denoms[i] != denom) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Asks a discard strategy which card to discard, giving it a view of the hand with no copy.
+     * @param strategy the strategy
+     * @param preferred the player's preferred denomination
+     * @param random the player's own random stream
+     * @return the position of the card to discard, or -1 if the strategy chose none
+     */
+    public int chooseDiscard(DiscardStrategy strategy, int preferred, SplittableRandom random) {
+        return strategy.chooseDiscard(denoms, 0, size, preferred, random);
+    }
+
+
+    /**
+     * Returns the number of cards in the hand.
+     * @return the hand size
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Checks if the hand is empty.
+     * @return true if the hand holds no cards
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns how close the hand is to winning: the largest number of cards of one denomination.
+     * @return the count of the most common denomination, 0 for an empty hand
+     */
+    public int maxOfAKind() {
+        return counts.maxCount();
+    }
+
+
+    /**
+     * Checks if the hand holds four or more cards of one denomination.
+     * @return true if the hand holds four of a kind
+     */
+    public boolean hasFourOfAKind() {
+        return counts.hasFourOfAKind();
+    }
+
+
+    /**
+     * Appends the denominations of the cards, separated by spaces, to the builder.
+     * @param out the builder to append to
+     * @return the same builder
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            out.append(denoms[i]);
+        }
+        return out;
+    }
+}
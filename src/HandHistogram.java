@@ -0,0 +1,103 @@
+import java.util.Arrays;
+
+/**
+ * This class keeps a running count of how many cards of each denomination a hand holds,
+ * so a player can tell whether it has four of a kind without scanning its hand.
+ * A hand only holds a handful of distinct denominations, so they are kept in two small
+ * parallel arrays rather than a map, and updates never box or allocate.
+ */
+public class HandHistogram {
+
+    private static final int WINNING_COUNT = 4;
+
+    private int[] denoms = new int[5];
+    private int[] counts = new int[5];
+    private int distinct; //number of denominations currently held
+    private int fourOfAKinds; //number of denominations held four or more times
+
+
+    /**
+     * Counts one more card of the given denomination.
+     * @param denom the denomination of the card added to the hand
+     */
+    public void add(int denom) {
+        int i = indexOf(denom);
+        if (i < 0) {
+            if (distinct == denoms.length) {
+                denoms = Arrays.copyOf(denoms, distinct * 2);
+                counts = Arrays.copyOf(counts, distinct * 2);
+            }
+            i = distinct++;
+            denoms[i] = denom;
+            counts[i] = 0;
+        }
+        if (++counts[i] == WINNING_COUNT) {
+            fourOfAKinds++;
+        }
+    }
+
+
+    /**
+     * Counts one fewer card of the given denomination.
+     * @param denom the denomination of the card removed from the hand
+     * @throws IllegalStateException if no card of that denomination is counted
+     */
+    public void remove(int denom) {
+        int i = indexOf(denom);
+        if (i < 0) {
+            throw new IllegalStateException("No card of denomination " + denom + " in the hand.");
+        }
+        if (counts[i]-- == WINNING_COUNT) {
+            fourOfAKinds--;
+        }
+        if (counts[i] == 0) {
+            // Move the last entry into the gap so the held denominations stay contiguous
+            distinct--;
+            denoms[i] = denoms[distinct];
+            counts[i] = counts[distinct];
+        }
+    }
+
+
+    /**
+     * Returns how many cards of the given denomination are counted.
+     * @param denom the denomination
+     * @return the number of cards of that denomination
+     */
+    public int count(int denom) {
+        int i = indexOf(denom);
+        return i < 0 ? 0 : counts[i];
+    }
+
+
+    /**
+     * Returns the largest number of cards of any one denomination.
+     * @return the count of the most common denomination, 0 for an empty hand
+     */
+    public int maxCount() {
+        int max = 0;
+        for (int i = 0; i < distinct; i++) {
+            max = Math.max(max, counts[i]);
+        }
+        return max;
+    }
+
+
+    /**
+     * Checks if the hand holds four or more cards of one denomination.
+     * @return true if the hand holds four of a kind
+     */
+    public boolean hasFourOfAKind() {
+        return fourOfAKinds > 0;
+    }
+
+
+    private int indexOf(int denom) {
+        for (int i = 0; i < distinct; i++) {
+            if (denoms[i] == denom) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
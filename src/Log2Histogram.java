@@ -0,0 +1,91 @@
+/**
+ * This class is a fixed-size histogram of non-negative values with power-of-two buckets:
+ * bucket 0 holds zeros and bucket b holds values from 2^(b-1) to 2^b - 1. Recording is a
+ * couple of array writes with no allocation or locking, so each histogram must have a
+ * single writer. Other threads may read it once the writer has stopped.
+ */
+public class Log2Histogram {
+
+    private final long[] counts = new long[65];
+    private long count;
+    private long sum;
+    private long max;
+
+
+    /**
+     * Records one value. Negative values are recorded as zero.
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[64 - Long.numberOfLeadingZeros(value)]++;
+        count++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+
+    /**
+     * Returns the number of values recorded.
+     * @return the value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+
+    /**
+     * Returns the largest value recorded.
+     * @return the maximum, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+
+    /**
+     * Returns the mean of the values recorded.
+     * @return the mean, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+
+    /**
+     * Returns an upper bound for the given percentile: the top of the bucket it falls in,
+     * capped at the largest value recorded.
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile's upper bound, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                long top = bucket == 0 ? 0 : bucket == 64 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                return Math.min(top, max);
+            }
+        }
+        return max;
+    }
+
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     * @param other the histogram to add
+     */
+    public void add(Log2Histogram other) {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * How much of a game's text output is written. Each level includes everything written at
+ * the levels below it. Lines of a disabled level are never rendered, so a game that logs
+ * less also spends nothing formatting hands and decks it would throw away.
+ * The binary event log always records every event, as it renders no text.
+ */
+public enum LogLevel {
+    /** No player or deck output. */
+    OFF,
+    /** Initial hands, the win and every exit with its hand, and the final deck contents. */
+    SUMMARY,
+    /** Adds every draw and discard. */
+    TURNS,
+    /** Adds the hand after every turn, the blank line between turns and the console deck snapshots; the original output. */
+    ALL;
+
+
+    /**
+     * Checks if lines of the given level are written at this level.
+     * @param level the level of a line
+     * @return true if the line is written
+     */
+    public boolean includes(LogLevel level) {
+        return level != OFF && level.compareTo(this) <= 0;
+    }
+
+
+    /**
+     * Returns the level of the line an event type stands for.
+     * @param type the event type, one of the EventLog constants
+     * @return the event's level
+     */
+    static LogLevel of(int type) {
+        switch (type) {
+            case EventLog.DRAW:
+            case EventLog.DISCARD:
+                return TURNS;
+            case EventLog.CURRENT_HAND:
+            case EventLog.BLANK:
+                return ALL;
+            default:
+                return SUMMARY;
+        }
+    }
+
+
+    /**
+     * Returns the event types whose lines are written at this level, as a bit mask indexed by
+     * event type, so a player can test an event with a single AND.
+     * @return the mask of enabled event types
+     */
+    int eventMask() {
+        int mask = 0;
+        for (int type = EventLog.DEAL; type <= EventLog.DECK_CARD; type++) {
+            if (includes(of(type))) {
+                mask |= 1 << type;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,34 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * This interface is a destination for the text written to a player or deck output file.
+ * Implementations must be safe to write to from several threads at once.
+ */
+public interface LogSink extends Closeable {
+
+    /**
+     * Appends the text to the output exactly as given, including any line breaks.
+     * @param text the text to append
+     */
+    void write(String text);
+
+
+    /**
+     * Appends the text to the output exactly as given. The text may be a reused buffer, so it
+     * is copied or written out before this returns. Sinks that can write it without making a
+     * String override this; the default makes one.
+     * @param text the text to append
+     */
+    default void append(CharSequence text) {
+        write(text.toString());
+    }
+
+
+    /**
+     * Writes out any pending text and closes the output.
+     * @throws IOException if an I/O error occurs while flushing or closing
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads a text card pack in a single pass over a memory-mapped file.
+ * It validates the pack while parsing it (no negative values, numbers only, exactly
+ * the expected number of cards) and fills a primitive array of denominations, so the
+ * pack never goes through Scanner, boxing or a second read.
+ *
+ * Tokens are separated by whitespace, as with java.util.Scanner. A token is a card if it
+ * is an optional sign followed by decimal digits that fit in an int; anything else is a
+ * non-numeric value. The first bad token decides the error, then the size is checked.
+ */
+public final class PackReader {
+
+    static final String NEGATIVE_MESSAGE = "Invalid File: Pack contains negative integers in file";
+    static final String NON_NUMERIC_MESSAGE = "Invalid File: Pack contains non-numeric values in file";
+
+    private PackReader() {
+    }
+
+
+    /**
+     * Reads and validates a text pack.
+     *
+     * @param packFile the pack file
+     * @param expectedSize the number of cards the pack must hold
+     * @return the denominations in file order
+     * @throws IllegalArgumentException if the pack is invalid, with the message shown to the user
+     * @throws IOException if the file cannot be read
+     */
+    public static int[] read(Path packFile, int expectedSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Pack file is too large to map: " + packFile);
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            return parse(bytes, (int) length, expectedSize);
+        }
+    }
+
+
+    private static int[] parse(MappedByteBuffer bytes, int length, int expectedSize) {
+        int[] pack = new int[expectedSize];
+        int found = 0;
+        int i = 0;
+        while (i < length) {
+            byte b = bytes.get(i);
+            if (isWhitespace(b)) {
+                i++;
+                continue;
+            }
+
+            // Parse one token: optional sign, then digits up to the next whitespace
+            boolean negative = false;
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+            }
+            int digitsStart = i;
+            long value = 0;
+            boolean numeric = true;
+            while (i < length && !isWhitespace(b = bytes.get(i))) {
+                if (b < '0' || b > '9') {
+                    numeric = false;
+                } else if (numeric) {
+                    value = value * 10 + (b - '0');
+                    if (value > (long) Integer.MAX_VALUE + 1) {
+                        numeric = false; //out of int range, which Scanner does not read as an int
+                    }
+                }
+                i++;
+            }
+            if (i == digitsStart || (!negative && value > Integer.MAX_VALUE)) {
+                numeric = false;
+            }
+            if (!numeric) {
+                throw new IllegalArgumentException(NON_NUMERIC_MESSAGE);
+            }
+            if (negative && value != 0) {
+                throw new IllegalArgumentException(NEGATIVE_MESSAGE);
+            }
+            if (found < expectedSize) {
+                pack[found] = (int) value;
+            }
+            found++;
+        }
+
+        if (found < expectedSize) {
+            throw new IllegalArgumentException("Invalid File: Pack size too small (expected " + expectedSize + ", found " + found + ") in file");
+        }
+        if (found > expectedSize) {
+            throw new IllegalArgumentException("Invalid File: Pack size too big (expected " + expectedSize + ", found " + found + ") in file");
+        }
+        return pack;
+    }
+
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+}
@@ -1,31 +1,83 @@
-import java.util.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.io.*;
 
 /**
  * This class represents a player in the game. Each player manages their hand, performs turns, 
- * checks for a win, logs actions, and notifies other players upon winning.
+ * checks for a win and logs actions. A winner only records itself as the game's winner; every
+ * other player notices at the start of its next turn and logs its own exit, so ending the game
+ * takes no locks of other players however many there are.
  */
 class Player extends Thread {
+    private static final long DRAW_TIMEOUT_MILLIS = 100; //how often a waiting player rechecks that the game is still on
+    private static final VarHandle TURN_COUNT;
+    private static final VarHandle OF_A_KIND;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TURN_COUNT = lookup.findVarHandle(Player.class, "turnCount", int.class);
+            OF_A_KIND = lookup.findVarHandle(Player.class, "ofAKind", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
     private final int playerNumber;
-    private final List<Card> hand;
+    private final Hand hand;
     private final CardDeck leftDeck;
     private final CardDeck rightDeck;
     private final AtomicBoolean gameEnded;
-    private final BufferedWriter logWriter;
-    private final Player[] players; 
+    private final GameContext context;
+    private final LogSink logSink;
+    private final EventLog.Writer eventWriter;
+    private final GameMetrics.PlayerMetrics metrics; //null unless the game records metrics
+    private final GameMetrics.DeckMetrics leftDeckMetrics;
+    private final DiscardStrategy strategy;
+    private final SplittableRandom random; //split from the game's stream, so seeded games choose the same
+    private final int textEvents; //event types written as text at the game's log level, one bit per type
+    private final StringBuilder line = new StringBuilder(128); //reused for every line; only the player's own thread logs during play
+    private final boolean monitored; //publish the hand's progress for a GameMonitor after every turn
+    private int turnCount; //written only by the player's thread; opaque, so a monitor can read it without a lock
+    private int ofAKind; //most cards of one denomination in hand, published for a monitor
+    private int discardIndex; //position in hand of the last card discarded, recorded in the event log
+    private final ReentrantLock turnLock = new ReentrantLock(); //held for a whole turn; not a monitor, so virtual threads are not pinned
+    private volatile Thread runner; //thread running this player's turns, which may be a virtual thread
 
     public Player(int playerNumber, File gameFolder, CardDeck leftDeck, CardDeck rightDeck, 
                   AtomicBoolean gameEnded, Player[] players) {
+        this(playerNumber, gameFolder, leftDeck, rightDeck,
+             new GameContext(new GameConfig().setAsyncLogging(false), gameEnded), players);
+    }
+
+    public Player(int playerNumber, File gameFolder, CardDeck leftDeck, CardDeck rightDeck, 
+                  GameContext context, Player[] players) {
         this.playerNumber = playerNumber;
-        this.hand = new ArrayList<>();
+        this.hand = new Hand();
         this.leftDeck = leftDeck;
         this.rightDeck = rightDeck;
-        this.gameEnded = gameEnded;
-        this.players = players; 
+        this.context = context;
+        this.gameEnded = context.getGameEnded();
+        this.strategy = context.getConfig().getStrategy(playerNumber);
+        this.random = context.getRandom().split();
+        this.textEvents = context.getConfig().getLogLevel().eventMask();
+        this.monitored = context.getConfig().isMonitored();
+        GameMetrics gameMetrics = context.getMetrics();
+        this.metrics = gameMetrics != null ? gameMetrics.player(playerNumber) : null;
+        this.leftDeckMetrics = gameMetrics != null ? gameMetrics.deck(leftDeck.getDeckId()) : null;
+        if (context.getEventLog() != null) {
+            // Binary event logging replaces the text file
+            eventWriter = context.getEventLog().newWriter();
+            logSink = null;
+            return;
+        }
+        eventWriter = null;
         try {
+            // Headless games keep no per-player files, so the sink is null
             File outputFile = new File(gameFolder, "player" + playerNumber + "_output.txt");
-            logWriter = new BufferedWriter(new FileWriter(outputFile, true));
+            logSink = textEvents != 0 ? context.openLog(outputFile, true, true) : null;
         } catch (IOException e) {
             throw new RuntimeException("Failed to create output file for player " + playerNumber, e);
         }
@@ -41,27 +93,96 @@ class Player extends Thread {
     }
 
 
+    /**
+     * Returns the number of turns this player has completed.
+     * Only exact once the player's thread has stopped.
+     * @return the player's turn count
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+
+    /**
+     * Reads the player's turn count while it plays, without waiting for its turn to end.
+     * The count may be a turn behind, but is never torn or older than an earlier read.
+     * @return the player's turn count
+     */
+    int sampleTurnCount() {
+        return (int) TURN_COUNT.getOpaque(this);
+    }
+
+
+    /**
+     * Reads the largest number of cards of one denomination the player held after its last turn,
+     * without waiting for its turn to end. Only kept up to date in monitored games.
+     * @return the count of the player's most common denomination
+     */
+    int sampleOfAKind() {
+        return (int) OF_A_KIND.getOpaque(this);
+    }
+
+
+    /**
+     * Sets the turn count of a player resumed from a snapshot. Must be called before the player starts.
+     * @param turnCount the turns the player had completed
+     */
+    void restoreTurnCount(int turnCount) {
+        this.turnCount = turnCount;
+    }
+
+
+    /**
+     * Returns the denominations in the player's hand, in hand order.
+     * Only consistent while the player's turns are locked or its thread has stopped.
+     * @return a copy of the hand
+     */
+    int[] getHandDenoms() {
+        int[] denoms = new int[hand.size()];
+        for (int i = 0; i < denoms.length; i++) {
+            denoms[i] = hand.get(i);
+        }
+        return denoms;
+    }
+
+
+    /**
+     * Waits for the player's current turn to end and keeps it from starting another,
+     * so the game's state can be read between turns. Must be paired with unlockTurns.
+     */
+    void lockTurns() {
+        turnLock.lock();
+    }
+
+
+    /**
+     * Lets the player take turns again after lockTurns.
+     */
+    void unlockTurns() {
+        turnLock.unlock();
+    }
+
+
     /**
      * Adds a card to the player's hand.
      * @param card the card to be added to the hand
      */
     public void addCardToHand(Card card) {
-        hand.add(card);
+        hand.add(card.getDenom());
     }
 
 
     /**
      * Method that chooses and discards a card to deck.
-     * Implements game playing strategy by discarding the first card in hand 
+     * The card is chosen by the player's discard strategy; by default the first card in hand 
      * that does not match player's preferred denomination.
      * @return card to discard to deck
      */
     public Card discardCard() {
-        for (Card card : hand) {
-            if (card.getDenom() != playerNumber) {
-                hand.remove(card);
-                return card;
-            }
+        int index = hand.chooseDiscard(strategy, playerNumber, random);
+        if (index >= 0) {
+            discardIndex = index;
+            return Card.valueOf(hand.removeAt(index));
         }
         throw new IllegalStateException("Player has won and should not discard any more cards.");
     }
@@ -69,17 +190,11 @@ class Player extends Thread {
 
     /**
      * Checks if the player has won the game by having four cards of the same denomination in hand.
+     * Uses the running per-denomination counts, so it takes constant time and allocates nothing.
      * @return true if the player has four cards of the same denomination, otherwise false
      */
     public boolean hasWon() {
-        Map<Integer, Integer> cardCount = new HashMap<>();
-        for (Card card : hand) {
-            cardCount.put(card.getDenom(), cardCount.getOrDefault(card.getDenom(), 0) + 1);
-            if (cardCount.get(card.getDenom()) == 4) {
-                return true; 
-            }
-        }
-        return false; 
+        return hand.hasFourOfAKind();
     }
 
 
@@ -92,121 +207,235 @@ class Player extends Thread {
             return "No cards in the hand";  
         }
 
-        StringBuilder handString = new StringBuilder();
-        for (Card card : hand) {
-            handString.append(card.toString()).append(" "); 
-        }
-        handString.deleteCharAt(handString.length() - 1);  
-        return handString.toString();
+        return hand.appendTo(new StringBuilder()).toString();
     }
 
 
     /**
      * Executes a player's turn by drawing a card from the left deck, discarding a card to the right deck,
-     * and logging the actions. The turn is synchronized to ensure thread safety. The method checks if the 
+     * and logging the actions. The turn is locked to ensure thread safety. The method checks if the 
      * player has won after each turn and ends the game if so.
+     * Between turns the player waits as the game's pacing policy decides.
      * @throws InterruptedException if the thread is interrupted during sleep
      */   
     @Override
     public void run() {
-        while (!gameEnded.get() && !Thread.currentThread().isInterrupted()) {
+        runner = Thread.currentThread();
+        if (monitored) {
+            OF_A_KIND.setOpaque(this, hand.maxOfAKind());
+        }
+        TurnPacing pacing = context.newTurnPacing();
+        while (context.getWinner() == 0 && !gameEnded.get() && !Thread.currentThread().isInterrupted()) {
             try {
+                // Wait for the left neighbour to discard rather than drawing from an empty deck.
+                // The wait is outside the turn lock, so a winner can always log this player's exit
+                if (leftDeckMetrics != null && leftDeck.isDeckEmpty()) {
+                    leftDeckMetrics.recordEmpty();
+                }
+                if (!leftDeck.awaitCard(DRAW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+
                 // Draw-discard as an atomic action
-                synchronized (this) {
-                    Card drawnCard;
-                    synchronized (leftDeck) {
-                        drawnCard = leftDeck.removeCard();
-                    }
+                TurnEvent event = metrics != null ? new TurnEvent() : null;
+                long turnStart = 0;
+                if (event != null) {
+                    event.begin();
+                    turnStart = System.nanoTime();
+                }
+                Card drawnCard;
+                Card discardedCard;
+                turnLock.lock();
+                try {
+                    // Decks guard themselves, so no extra deck lock is taken here
+                    drawnCard = leftDeck.removeCard();
                     addCardToHand(drawnCard);
-                    logAction("draws " + drawnCard + " from Deck " + leftDeck.getDeckId());
+                    logEvent(EventLog.DRAW, drawnCard.getDenom(), leftDeck.getDeckId());
 
-                    Card discardedCard = discardCard();
-                    synchronized (rightDeck) {
-                        rightDeck.addCard(discardedCard);
+                    discardedCard = discardCard();
+                    rightDeck.addCard(discardedCard);
+                    logEvent(EventLog.DISCARD, discardedCard.getDenom(), rightDeck.getDeckId());
+                    logEvent(EventLog.CURRENT_HAND, 0, 0);
+                    logEvent(EventLog.BLANK, 0, 0);
+                    TURN_COUNT.setOpaque(this, turnCount + 1);
+                    if (monitored) {
+                        OF_A_KIND.setOpaque(this, hand.maxOfAKind());
                     }
-                    logAction("discards " + discardedCard + " to Deck " + rightDeck.getDeckId());
-                    logAction("Current hand: " + getHandAsString());
-                    logAction("");
+                } finally {
+                    turnLock.unlock();
+                }
+                if (event != null) {
+                    metrics.recordTurn(System.nanoTime() - turnStart);
+                    event.player = playerNumber;
+                    event.turn = turnCount;
+                    event.drawn = drawnCard.getDenom();
+                    event.discarded = discardedCard.getDenom();
+                    event.commit();
                 }
 
-                // Check for win condition
-                if (hasWon()) {
-                    logAction("Wins");
-                    logAction("Exits");
-                    logAction("final hand: " + getHandAsString());
-                    notifyPlayersOfWin(this);
-                    gameEnded.set(true);
-                    break;
+                // Check for win condition; if another player won first, this player exits below
+                if (hasWon() && context.declareWinner(playerNumber)) {
+                    if (metrics != null) {
+                        WinEvent win = new WinEvent();
+                        win.player = playerNumber;
+                        win.turns = turnCount;
+                        win.commit();
+                    }
+                    logWin();
+                    return;
                 }
 
-                Thread.sleep(500);
+                pacing.awaitNextTurn();
 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
+
+        int winner = context.getWinner();
+        if (winner != 0 && winner != playerNumber) {
+            turnLock.lock();
+            try {
+                Thread.interrupted(); //the wake-up from stopTurns has done its job
+                logExit(winner);
+            } finally {
+                turnLock.unlock();
+            }
+        }
     }
 
 
     /**
-     * Notifies all players (except the winner) that the specified player has won, logs the exit message 
-     * for each player, and displays their hand. Also interrupts their threads to terminate gracefully.
-     * @param winner player who has won the game
+     * Interrupts the thread running this player's turns, so it stops at the end of its current turn
+     * instead of waiting out a draw or a pacing delay. Works whether the player runs on its own
+     * platform thread or on a virtual thread. The interrupt is sent between turns, never during
+     * one, so it cannot land in the middle of writing a log. The right deck is told the game is
+     * over first, so a turn waiting for room in a full deck finishes and releases the turn lock.
      */
-    public void notifyPlayersOfWin(Player winner) {
-        for (Player otherPlayer : players) {
-            if (!otherPlayer.equals(winner)) {
-                synchronized (otherPlayer) {
-                    otherPlayer.logAction(
-                        "Player " + winner.playerNumber + " has informed player " +
-                        otherPlayer.playerNumber + " that player " + winner.playerNumber + " has won"
-                    );
-                    otherPlayer.logAction("exits");
-                    otherPlayer.logAction("hand: " + otherPlayer.getHandAsString());
-                }
-                
-                otherPlayer.interrupt();
+    public void stopTurns() {
+        rightDeck.endGame();
+        turnLock.lock();
+        try {
+            Thread thread = runner;
+            (thread != null ? thread : this).interrupt();
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
+
+    /**
+     * Logs that the given player has informed this player of its win, that this player exits,
+     * and its hand. Called by the player itself once it sees the game has been won.
+     * @param winner the winning player's number
+     */
+    public void logExit(int winner) {
+        logEvent(EventLog.INFORMED, winner, 0);
+        logEvent(EventLog.EXIT, 0, 0);
+        logEvent(EventLog.EXIT_HAND, 0, 0);
+    }
+
+
+    /**
+     * Logs the player's hand as dealt, before the first turn.
+     */
+    public void logInitialHand() {
+        if (eventWriter != null) {
+            // Record the dealt cards so the converter can rebuild the hand
+            for (int i = 0; i < hand.size(); i++) {
+                logEvent(EventLog.DEAL, hand.get(i), 0);
             }
         }
+        logEvent(EventLog.INITIAL_HAND, 0, 0);
+    }
+
+
+    /**
+     * Logs that this player has won, that it exits, and its final hand.
+     */
+    public void logWin() {
+        logEvent(EventLog.WINS, 0, 0);
+        logEvent(EventLog.EXITS, 0, 0);
+        logEvent(EventLog.FINAL_HAND, 0, 0);
+    }
+
+
+    /**
+     * Logs a game event, either as a binary record or as the equivalent text line.
+     * @param type the event type, one of the EventLog constants
+     * @param card the card involved, or the winner's number for EventLog.INFORMED
+     * @param deck the deck involved, 0 if none
+     */
+    private void logEvent(int type, int card, int deck) {
+        if (metrics == null) {
+            writeEvent(type, card, deck);
+            return;
+        }
+        long logStart = System.nanoTime();
+        writeEvent(type, card, deck);
+        metrics.recordLog(System.nanoTime() - logStart);
+    }
+
+
+    private void writeEvent(int type, int card, int deck) {
+        if (eventWriter == null) {
+            // Decide before rendering anything: headless games, lines above the log level
+            // and lines after the end of the game cost a few reads and nothing more
+            if (logSink == null || (textEvents & (1 << type)) == 0 || gameEnded.get()) return;
+            line.setLength(0);
+            logSink.append(EventLog.appendLine(line, type, playerNumber, card, deck, hand));
+            return;
+        }
+        if (gameEnded.get() && type != EventLog.DEAL) return; //same rule as logAction
+        if (!EventLog.isRecorded(type)) return; //rebuilt by the converter after each discard
+        if (type == EventLog.DISCARD) {
+            eventWriter.recordDiscard(turnCount, playerNumber, card, deck, discardIndex);
+        } else {
+            eventWriter.record(turnCount, playerNumber, type, card, deck);
+        }
+    }
+
+
+    /**
+     * Returns the line written to a player's output file for an action.
+     * @param playerNumber the player the action belongs to
+     * @param action the action description
+     * @return the line, including its line break
+     */
+    static String formatLogLine(int playerNumber, String action) {
+        if (action.isEmpty()) {
+            return "\n";
+        } else if (action.contains("has informed")) {
+            return action + "\n";
+        }
+        return "Player " + playerNumber + " " + action + "\n";
     }
 
 
     /**
      * Logs the specified action for the player both to a log file and the console.
      * If the action is empty, a blank line is logged. Otherwise, the action is logged with the player's number.
+     * The line is handed to the game's log sink, which may write it on a background thread.
      * @param action the action description to log
      */
-    public synchronized void logAction(String action) {
-        try {
-            if (gameEnded.get()) return; //skips loggin if game has ended
-            if (action.isEmpty()) {
-                logWriter.write("\n");
-                System.out.println(); // manual terminal inspection
-            } else {
-                if (action.contains("has informed")) {
-                    logWriter.write(action + "\n");
-                    System.out.println(action);  // manual terminal inspection
-                } else {
-                    logWriter.write("Player " + playerNumber + " " + action + "\n");
-                    System.out.println("Player " + playerNumber + " " + action);  // manual terminal inspection
-                }
-                logWriter.flush();
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to log action for player " + playerNumber);
-            e.printStackTrace();
-        }
+    public void logAction(String action) {
+        if (logSink == null) return; //headless games log nothing
+        if (gameEnded.get()) return; //skips loggin if game has ended
+        logSink.write(formatLogLine(playerNumber, action));
     }
 
 
 
     /**
-     * Closes the log file writer if it is not already closed.
+     * Closes the log file writer if it is not already closed, after writing out any queued lines.
      * @throws IOException if an I/O error occurs while closing the log writer
      */
     public void closeLog() throws IOException {
-        if (logWriter != null) {
-            logWriter.close();  
+        if (logSink != null) {
+            logSink.close();  
+        }
+        if (eventWriter != null) {
+            eventWriter.close();
         }
     }
 
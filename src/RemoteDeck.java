@@ -0,0 +1,186 @@
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class stands in for a deck that lives in another process, at the boundary between two
+ * shards of a sharded game. The last player of a shard discards into it, and a sender thread
+ * writes the cards to the next shard in batches: it waits for a first card, lets more collect
+ * for a short linger time or until a batch is full, then writes them all with one flush.
+ * The receiving shard adds them to its first deck through receive.
+ *
+ * A batch on the wire is its card count followed by the denominations, as big-endian ints.
+ * A count of -1 ends the stream, once every queued card has been sent. The remote deck itself
+ * holds no cards, so nobody can draw from it.
+ */
+public final class RemoteDeck extends CardDeck {
+
+    static final int BATCH_CARDS = 64;
+    private static final long LINGER_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int END_OF_STREAM = -1;
+
+    private final DataOutputStream out;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition cardsQueued = lock.newCondition();
+    private int[] queued = new int[BATCH_CARDS];
+    private int[] sending = new int[BATCH_CARDS];
+    private int size;
+    private boolean closed;
+    private long cardsSent;
+    private final Thread sender;
+
+    /**
+     * Creates the deck and starts its sender thread.
+     * @param deckId the ID of the deck in the next shard
+     * @param out the stream to the next shard
+     */
+    public RemoteDeck(int deckId, OutputStream out) {
+        super(deckId);
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 4 * (BATCH_CARDS + 1)));
+        this.sender = new Thread(this::sendBatches, "deck-" + deckId + "-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+
+    /**
+     * Queues a card for the next shard, waking the sender if it is the first of a batch or fills one.
+     * @param card the card to be discarded into the remote deck
+     * @throws IllegalStateException if the deck has been closed
+     */
+    @Override
+    public void addCard(Card card) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Deck " + getDeckId() + " is closed.");
+            }
+            if (size == queued.length) {
+                queued = Arrays.copyOf(queued, 2 * size);
+            }
+            queued[size++] = card.getDenom();
+            if (size == 1 || size == BATCH_CARDS) {
+                cardsQueued.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * A remote deck holds no cards.
+     * @throws IllegalStateException always
+     */
+    @Override
+    public Card removeCard() {
+        throw new IllegalStateException("Cannot draw from deck " + getDeckId() + ", which is in another process.");
+    }
+
+
+    /**
+     * Returns the number of cards sent to the next shard so far.
+     * @return the card count
+     */
+    public long getCardsSent() {
+        lock.lock();
+        try {
+            return cardsSent;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Sends every queued card, ends the stream and waits for the sender to finish.
+     * Must be called once the player discarding into the deck has stopped.
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            closed = true;
+            cardsQueued.signal();
+        } finally {
+            lock.unlock();
+        }
+        sender.join();
+    }
+
+
+    private void sendBatches() {
+        try {
+            while (true) {
+                int count;
+                boolean last;
+                lock.lock();
+                try {
+                    while (size == 0 && !closed) {
+                        cardsQueued.await();
+                    }
+                    // Let a batch build up rather than writing every card on its own
+                    long lingerNanos = LINGER_NANOS;
+                    while (size < BATCH_CARDS && !closed && lingerNanos > 0) {
+                        lingerNanos = cardsQueued.awaitNanos(lingerNanos);
+                    }
+                    int[] batch = queued;
+                    queued = sending;
+                    sending = batch;
+                    count = size;
+                    size = 0;
+                    last = closed;
+                    cardsSent += count;
+                } finally {
+                    lock.unlock();
+                }
+
+                if (count > 0) {
+                    out.writeInt(count);
+                    for (int i = 0; i < count; i++) {
+                        out.writeInt(sending[i]);
+                    }
+                }
+                if (last) {
+                    out.writeInt(END_OF_STREAM);
+                    out.flush();
+                    return;
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.out.println("Failed to send cards to deck " + getDeckId() + ": " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Starts a thread that adds the cards sent by the previous shard's remote deck to a local deck,
+     * until the stream ends.
+     *
+     * @param in the stream from the previous shard
+     * @param deck the deck the cards are added to
+     * @return the receiving thread, which finishes once the previous shard has closed its remote deck
+     */
+    public static Thread receive(InputStream in, CardDeck deck) {
+        DataInputStream cards = new DataInputStream(new BufferedInputStream(in, 4 * (BATCH_CARDS + 1)));
+        Thread receiver = new Thread(() -> {
+            try {
+                for (int count = cards.readInt(); count != END_OF_STREAM; count = cards.readInt()) {
+                    for (int i = 0; i < count; i++) {
+                        deck.addCard(Card.valueOf(cards.readInt()));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to receive cards for deck " + deck.getDeckId() + ": " + e.getMessage());
+            }
+        }, "deck-" + deck.getDeckId() + "-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        return receiver;
+    }
+}
@@ -0,0 +1,387 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class stores the text of every player and deck output file of a game in a few large
+ * segment files instead of one file per player and deck, so a game with 100k players keeps
+ * two files open and writes in large sequential blocks.
+ *
+ * Each open file is a stream with a small text buffer of its own. When the buffer fills, or the
+ * stream is closed, its text is appended as one chunk to the current segment and an index entry
+ * (stream, segment, offset, length) records where the chunk went. Segments roll over at a size
+ * limit. The index also records each stream's file name, so export can rebuild the usual
+ * playerN_output.txt and deckN_output.txt files, byte for byte, whenever they are wanted.
+ *
+ * Segments and the index are written through FileOutputStreams rather than FileChannels, as
+ * streams flush from player threads and a losing player may be interrupted mid-write; an
+ * interrupted FileChannel write would close the segment for every other stream.
+ *
+ * Usage: java SegmentedLogStore path/to/game_folder [output folder]
+ */
+public class SegmentedLogStore implements Closeable {
+
+    static final int MAGIC = 0x43475349; //"CGSI"
+    static final int VERSION = 1;
+    static final String INDEX_FILE = "logs.idx";
+    static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final int STREAM_BUFFER_CHARS = 256; //kept small, as there is one per player and deck
+    private static final int DATA_BUFFER_BYTES = 1024 * 1024;
+    private static final int INDEX_BUFFER_BYTES = 64 * 1024;
+
+    // Index entry types
+    private static final int DECLARE = 1; //stream, name length, name bytes
+    private static final int CHUNK = 2;   //stream, segment, offset (long), length
+
+    private final File folder;
+    private final long segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock(); //not a monitor, so virtual threads are not pinned during I/O
+    private final ByteBuffer data = ByteBuffer.allocate(DATA_BUFFER_BYTES);
+    private final ByteBuffer index = ByteBuffer.allocate(INDEX_BUFFER_BYTES);
+    private final FileOutputStream indexOut;
+    private final List<Stream> streams = new ArrayList<>();
+    private FileOutputStream segment;
+    private int segmentNumber = -1;
+    private long segmentPosition; //bytes in the current segment, including those still buffered
+    private boolean closed;
+
+    public SegmentedLogStore(File folder) throws IOException {
+        this(folder, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Creates an empty store in the given folder, replacing any store already there.
+     * @param folder the folder for the segment and index files
+     * @param segmentBytes the size at which a segment is closed and the next one started
+     * @throws IOException if the index file cannot be created
+     */
+    public SegmentedLogStore(File folder, long segmentBytes) throws IOException {
+        if (segmentBytes < 1) {
+            throw new IllegalArgumentException("Segment size must be a positive number.");
+        }
+        this.folder = folder;
+        this.segmentBytes = segmentBytes;
+        this.indexOut = new FileOutputStream(new File(folder, INDEX_FILE));
+        index.putInt(MAGIC).putInt(VERSION);
+    }
+
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java SegmentedLogStore <game folder> [output folder]");
+            return;
+        }
+        File folder = new File(args[0]);
+        File outputFolder = args.length > 1 ? new File(args[1]) : folder;
+        try {
+            export(folder, outputFolder);
+            System.out.println(".txt output files can be found at: " + outputFolder.getAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Failed to export logs: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Returns the file name of a segment.
+     * @param segmentNumber the segment's number, starting at 0
+     * @return the segment's file name
+     */
+    static String segmentName(int segmentNumber) {
+        return String.format("segment-%05d.log", segmentNumber);
+    }
+
+
+    /**
+     * Opens a stream for one output file. Opening the same name again appends to it.
+     * @param name the output file's name, such as player1_output.txt
+     * @param echoToConsole true to also print everything written to the stream
+     * @return a sink for the stream
+     * @throws IOException if the index could not be written
+     */
+    public LogSink open(String name, boolean echoToConsole) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log store is closed.");
+            }
+            Stream stream = new Stream(streams.size(), echoToConsole);
+            streams.add(stream);
+            reserveIndex(12 + nameBytes.length);
+            index.putInt(DECLARE).putInt(stream.id).putInt(nameBytes.length).put(nameBytes);
+            return stream;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Closes every stream still open, writes out everything buffered and closes the files.
+     * @throws IOException if the files cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        List<Stream> open;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            open = new ArrayList<>(streams);
+        } finally {
+            lock.unlock();
+        }
+        for (Stream stream : open) {
+            stream.close();
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+            writeData();
+            writeIndex();
+            if (segment != null) {
+                segment.close();
+            }
+            indexOut.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Appends one chunk of a stream's text to the current segment and indexes it.
+     */
+    private void append(int streamId, byte[] bytes) throws IOException {
+        lock.lock();
+        try {
+            if (segment == null || (segmentPosition > 0 && segmentPosition + bytes.length > segmentBytes)) {
+                nextSegment();
+            }
+            if (data.remaining() < bytes.length) {
+                writeData();
+            }
+            if (bytes.length > data.capacity()) {
+                writeFully(segment, ByteBuffer.wrap(bytes));
+            } else {
+                data.put(bytes);
+            }
+            reserveIndex(24);
+            index.putInt(CHUNK).putInt(streamId).putInt(segmentNumber).putLong(segmentPosition).putInt(bytes.length);
+            segmentPosition += bytes.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private void nextSegment() throws IOException {
+        writeData();
+        if (segment != null) {
+            segment.close();
+        }
+        segmentNumber++;
+        segmentPosition = 0;
+        segment = new FileOutputStream(new File(folder, segmentName(segmentNumber)));
+    }
+
+
+    private void reserveIndex(int bytes) throws IOException {
+        if (index.remaining() < bytes) {
+            // Chunks reach the segment before their index entries reach the index
+            writeData();
+            writeIndex();
+        }
+        if (index.remaining() < bytes) {
+            throw new IOException("Index entry is too large.");
+        }
+    }
+
+
+    private void writeData() throws IOException {
+        if (data.position() > 0) {
+            data.flip();
+            writeFully(segment, data);
+            data.clear();
+        }
+    }
+
+
+    private void writeIndex() throws IOException {
+        index.flip();
+        writeFully(indexOut, index);
+        index.clear();
+    }
+
+
+    private static void writeFully(OutputStream out, ByteBuffer buffer) throws IOException {
+        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        buffer.position(buffer.limit());
+    }
+
+
+    /**
+     * Writes every stream of a closed store to its own text file, with exactly the text that
+     * was written to the stream. Streams opened under the same name are joined in opening order.
+     *
+     * @param folder the folder holding the store's index and segments
+     * @param outputFolder the folder to write the text files to
+     * @throws IOException if the store cannot be read or the files cannot be written
+     */
+    public static void export(File folder, File outputFolder) throws IOException {
+        ByteBuffer entries;
+        try (FileChannel channel = FileChannel.open(new File(folder, INDEX_FILE).toPath(), StandardOpenOption.READ)) {
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (entries.remaining() < 8 || entries.getInt() != MAGIC) {
+            throw new IOException(INDEX_FILE + " is not a log store index.");
+        }
+        int version = entries.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported log store version " + version + ".");
+        }
+
+        // One pass to learn the streams' names and the position of every chunk
+        Map<String, List<Integer>> streamsByName = new LinkedHashMap<>();
+        List<long[]> chunks = new ArrayList<>(); //stream, segment, offset, length
+        int segments = 0;
+        while (entries.hasRemaining()) {
+            int type = entries.getInt();
+            int streamId = entries.getInt();
+            if (type == DECLARE) {
+                byte[] name = new byte[entries.getInt()];
+                entries.get(name);
+                streamsByName.computeIfAbsent(new String(name, StandardCharsets.UTF_8), k -> new ArrayList<>()).add(streamId);
+            } else if (type == CHUNK) {
+                int segmentNumber = entries.getInt();
+                chunks.add(new long[] {streamId, segmentNumber, entries.getLong(), entries.getInt()});
+                segments = Math.max(segments, segmentNumber + 1);
+            } else {
+                throw new IOException("Corrupt log store index.");
+            }
+        }
+        List<List<long[]>> chunksByStream = new ArrayList<>();
+        for (long[] chunk : chunks) {
+            int streamId = (int) chunk[0];
+            while (chunksByStream.size() <= streamId) {
+                chunksByStream.add(new ArrayList<>());
+            }
+            chunksByStream.get(streamId).add(chunk);
+        }
+
+        FileChannel[] segmentChannels = new FileChannel[segments];
+        try {
+            for (int s = 0; s < segments; s++) {
+                segmentChannels[s] = FileChannel.open(new File(folder, segmentName(s)).toPath(), StandardOpenOption.READ);
+            }
+            if (!outputFolder.exists() && !outputFolder.mkdirs()) {
+                throw new IOException("Cannot create output folder " + outputFolder);
+            }
+            for (Map.Entry<String, List<Integer>> stream : streamsByName.entrySet()) {
+                try (FileChannel out = FileChannel.open(new File(outputFolder, stream.getKey()).toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (int streamId : stream.getValue()) {
+                        if (streamId >= chunksByStream.size()) {
+                            continue; //opened but never written to
+                        }
+                        for (long[] chunk : chunksByStream.get(streamId)) {
+                            long position = chunk[2];
+                            long remaining = chunk[3];
+                            while (remaining > 0) {
+                                long copied = segmentChannels[(int) chunk[1]].transferTo(position, remaining, out);
+                                if (copied <= 0) {
+                                    throw new IOException("Segment " + segmentName((int) chunk[1]) + " is truncated.");
+                                }
+                                position += copied;
+                                remaining -= copied;
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (FileChannel channel : segmentChannels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * One output file's text, buffered until there is a chunk's worth to append to the segment.
+     * The buffer is appended while the stream's lock is held, so its chunks keep their order.
+     */
+    private final class Stream implements LogSink {
+        private final int id;
+        private final boolean echoToConsole;
+        private final StringBuilder pending = new StringBuilder();
+        private final ReentrantLock streamLock = new ReentrantLock();
+        private boolean streamClosed;
+
+        Stream(int id, boolean echoToConsole) {
+            this.id = id;
+            this.echoToConsole = echoToConsole;
+        }
+
+        @Override
+        public void write(String text) {
+            append(text);
+        }
+
+        @Override
+        public void append(CharSequence text) {
+            streamLock.lock();
+            try {
+                if (streamClosed) {
+                    return;
+                }
+                pending.append(text);
+                if (pending.length() >= STREAM_BUFFER_CHARS) {
+                    flushPending();
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to write log segment in " + folder.getName());
+            } finally {
+                streamLock.unlock();
+            }
+            if (echoToConsole) {
+                System.out.append(text); // manual terminal inspection
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            streamLock.lock();
+            try {
+                if (streamClosed) {
+                    return;
+                }
+                streamClosed = true;
+                flushPending();
+            } finally {
+                streamLock.unlock();
+            }
+        }
+
+        private void flushPending() throws IOException {
+            if (pending.length() == 0) {
+                return;
+            }
+            byte[] bytes = pending.toString().getBytes(StandardCharsets.UTF_8);
+            pending.setLength(0);
+            SegmentedLogStore.this.append(id, bytes);
+        }
+    }
+}
@@ -0,0 +1,500 @@
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class plays one game with its ring of players split across several JVM processes.
+ * Each process, a shard, runs a contiguous range of players and the decks they draw from.
+ * The last player of a shard discards into a RemoteDeck, which sends its cards in batches
+ * over a socket to the first deck of the next shard, so the ring closes across processes.
+ *
+ * The coordinator deals the pack, starts the shards, and decides the winner: a shard whose
+ * player wins sends a claim, the first claim to arrive wins, and the coordinator tells every
+ * shard. Players of every shard then stop as in a single-process game and log their own exits.
+ * Before a shard logs its decks it sends its last cards on and receives every card still on
+ * the way to it, so the final hands and decks hold exactly the pack.
+ *
+ * Shards are started on this machine and connect to the coordinator over loopback; each shard
+ * listens for cards on the address it reached the coordinator from, so nothing but the
+ * launching ties the protocol to one host. Shards write their players' and decks' text files
+ * into the coordinator's game folder. Each seat keeps its discard strategy, which must be one
+ * of the built-in ones so it can be sent by name. Metrics, binary event logs, segmented logs,
+ * checkpoints and live monitoring are not supported, and a game-wide rate limit applies to
+ * each shard on its own.
+ *
+ * Usage (started by the coordinator): java ShardedGame HOST:PORT
+ */
+public class ShardedGame {
+
+    private static final int SETUP = 1;
+    private static final int PORT = 2;
+    private static final int PEER = 3;
+    private static final int READY = 4;
+    private static final int START = 5;
+    private static final int WIN = 6;
+    private static final int END = 7;
+    private static final int REPORT = 8;
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000; //longest wait for a shard process to connect
+    private static final long REPORT_TIMEOUT_MILLIS = 30_000; //longest wait for the shards' reports after a win
+
+    public static void main(String[] args) {
+        if (args.length != 1 || args[0].lastIndexOf(':') < 0) {
+            System.out.println("Usage: java ShardedGame HOST:PORT");
+            return;
+        }
+        int colon = args[0].lastIndexOf(':');
+        try {
+            runShard(args[0].substring(0, colon), Integer.parseInt(args[0].substring(colon + 1)));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Shard failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Shard was interrupted.");
+        }
+    }
+
+
+    /**
+     * Plays one game split across the given number of shard processes and waits for it to end.
+     *
+     * @param pack the card denominations, 8 per player
+     * @param numOfPlayers the number of players in the game
+     * @param shards the number of processes to split the players across
+     * @param config the settings for this game
+     * @return the winner, every player's turn count and the wall time of the game
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalStateException if a shard fails or the cards do not add up at the end
+     */
+    public static GameResult run(int[] pack, int numOfPlayers, int shards, GameConfig config) throws InterruptedException {
+        return run(pack, numOfPlayers, shards, config, config.getSeed() == null
+                ? new SplittableRandom() : new SplittableRandom(config.getSeed()));
+    }
+
+
+    /**
+     * Plays one sharded game, shuffling the pack and seeding the shards from the given random stream.
+     *
+     * @param pack the card denominations, 8 per player
+     * @param numOfPlayers the number of players in the game
+     * @param shards the number of processes to split the players across
+     * @param config the settings for this game
+     * @param random the game's random stream
+     * @return the winner, every player's turn count and the wall time of the game
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalStateException if a shard fails or the cards do not add up at the end
+     */
+    public static GameResult run(int[] pack, int numOfPlayers, int shards, GameConfig config, SplittableRandom random) throws InterruptedException {
+        if (pack.length != 8 * numOfPlayers) {
+            throw new IllegalArgumentException("Pack must hold exactly " + (8 * numOfPlayers) + " cards.");
+        }
+        if (shards < 2 || shards > numOfPlayers) {
+            throw new IllegalArgumentException("Number of shards must be between 2 and the number of players.");
+        }
+        if (config.getEngine() != GameConfig.Engine.THREADED || config.isMetrics() || config.isBinaryEventLog()
+                || config.isSegmentedLogs() || config.getCheckpointFile() != null || config.isMonitored()) {
+            throw new IllegalArgumentException("Sharded games use the threaded engine, write text output files only and cannot be monitored.");
+        }
+        for (int p = 1; p <= numOfPlayers; p++) {
+            if (DiscardStrategy.nameOf(config.getStrategy(p)) == null) {
+                throw new IllegalArgumentException("Sharded games only support the built-in discard strategies (player " + p + ").");
+            }
+        }
+        GameContext context = new GameContext(config, random);
+        boolean console = !config.isHeadless();
+        if (console) System.out.println("---------------- SHARDED GAME START ----------------\n");
+        File gameFolder = console ? CardGame.createGameFolder() : null;
+        int[] dealt = config.isShuffle() ? CardGame.shufflePack(pack, context.getRandom()) : pack.clone();
+        long startTime = System.nanoTime();
+
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, shards, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            for (int s = 0; s < shards; s++) {
+                processes.add(launchShard(server.getInetAddress().getHostAddress() + ":" + server.getLocalPort()));
+            }
+            DataInputStream[] in = new DataInputStream[shards];
+            DataOutputStream[] out = new DataOutputStream[shards];
+            for (int s = 0; s < shards; s++) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                in[s] = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out[s] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+
+            // Deal every shard its players' hands and decks, then link each shard to the next
+            for (int s = 0; s < shards; s++) {
+                int first = numOfPlayers * s / shards;
+                int count = numOfPlayers * (s + 1) / shards - first;
+                sendSetup(out[s], numOfPlayers, first, count, context.getRandom().nextLong(), gameFolder, config, dealt);
+            }
+            int[] ports = new int[shards];
+            for (int s = 0; s < shards; s++) {
+                expect(in[s], PORT, "Shard " + (s + 1));
+                ports[s] = in[s].readInt();
+            }
+            for (int s = 0; s < shards; s++) {
+                int next = (s + 1) % shards;
+                out[s].writeInt(PEER);
+                out[s].writeUTF(sockets.get(next).getInetAddress().getHostAddress());
+                out[s].writeInt(ports[next]);
+                out[s].flush();
+            }
+            for (int s = 0; s < shards; s++) {
+                expect(in[s], READY, "Shard " + (s + 1));
+            }
+
+            // A hand dealt as four of a kind wins before anyone plays, as in a single-process game
+            int winner = 0;
+            for (int p = 0; p < numOfPlayers && winner == 0; p++) {
+                Hand hand = new Hand();
+                for (int c = 0; c < 4; c++) {
+                    hand.add(dealt[p + c * numOfPlayers]);
+                }
+                if (hand.hasFourOfAKind()) {
+                    winner = p + 1;
+                }
+            }
+            for (int s = 0; s < shards; s++) {
+                out[s].writeInt(START);
+                out[s].writeInt(winner);
+                out[s].flush();
+            }
+
+            // Each shard claims at most one win and then reports; the first claim to arrive wins
+            BlockingQueue<Integer> claims = new LinkedBlockingQueue<>();
+            int[] turns = new int[numOfPlayers];
+            int[] cardsHeld = new int[shards];
+            Thread[] readers = new Thread[shards];
+            for (int s = 0; s < shards; s++) {
+                readers[s] = readShard(s, in[s], claims, turns, cardsHeld);
+            }
+            if (winner == 0) {
+                winner = claims.take();
+                if (winner < 0) {
+                    throw new IllegalStateException("Shard " + (-winner) + " failed before the game was won.");
+                }
+            }
+            for (int s = 0; s < shards; s++) {
+                out[s].writeInt(END);
+                out[s].writeInt(winner);
+                out[s].flush();
+            }
+
+            long reportDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REPORT_TIMEOUT_MILLIS);
+            long cards = 0;
+            for (int s = 0; s < shards; s++) {
+                long remainingNanos = reportDeadline - System.nanoTime();
+                if (remainingNanos > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(readers[s], remainingNanos);
+                }
+                if (readers[s].isAlive() || cardsHeld[s] < 0) {
+                    throw new IllegalStateException("Shard " + (s + 1) + " did not report the end of the game.");
+                }
+                cards += cardsHeld[s];
+            }
+            if (cards != pack.length) {
+                throw new IllegalStateException("Shards hold " + cards + " cards at the end of the game, not " + pack.length + ".");
+            }
+            long wallTimeNanos = System.nanoTime() - startTime;
+
+            if (console) {
+                System.out.println("\n.txt output files can be found at: " + gameFolder.getAbsolutePath());
+                System.out.println("\nPlayer " + winner + " Wins!");
+            }
+            return new GameResult(winner, turns, wallTimeNanos);
+        } catch (IOException e) {
+            throw new IllegalStateException("Sharded game failed: " + e.getMessage(), e);
+        } finally {
+            for (Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // Nothing more to send or receive
+                }
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Starts a shard process running this class with the same Java and class path as this one.
+     */
+    private static Process launchShard(String coordinator) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "ShardedGame", coordinator)
+                .inheritIO()
+                .start();
+    }
+
+
+    private static void sendSetup(DataOutputStream out, int numOfPlayers, int first, int count, long seed,
+                                  File gameFolder, GameConfig config, int[] dealt) throws IOException {
+        out.writeInt(SETUP);
+        out.writeInt(numOfPlayers);
+        out.writeInt(first);
+        out.writeInt(count);
+        out.writeLong(seed);
+        out.writeUTF(gameFolder == null ? "" : gameFolder.getPath());
+        out.writeUTF(config.getDeckType().name());
+        out.writeUTF(config.getThreadMode().name());
+        out.writeUTF(config.getPacingSpec());
+        out.writeUTF(config.getLogLevel().name());
+        out.writeBoolean(config.isAsyncLogging());
+        int highest = 0;
+        for (int denom : dealt) {
+            highest = Math.max(highest, denom);
+        }
+        out.writeInt(highest); //cards from other shards are in the shared cache too
+        for (int p = first; p < first + count; p++) {
+            out.writeUTF(DiscardStrategy.nameOf(config.getStrategy(p + 1)));
+        }
+        // Hands and decks are dealt round the whole table, as in CardGame
+        for (int p = first; p < first + count; p++) {
+            for (int c = 0; c < 4; c++) {
+                out.writeInt(dealt[p + c * numOfPlayers]);
+            }
+        }
+        for (int d = first; d < first + count; d++) {
+            out.writeInt(4);
+            for (int c = 4; c < 8; c++) {
+                out.writeInt(dealt[d + c * numOfPlayers]);
+            }
+        }
+        out.flush();
+    }
+
+
+    /**
+     * Starts a thread that reads a shard's win claim, if it makes one, and its report.
+     * A claim is put on the queue; a failure puts the shard's negated number there instead,
+     * and leaves the shard's card count at -1.
+     */
+    private static Thread readShard(int shard, DataInputStream in, BlockingQueue<Integer> claims, int[] turns, int[] cardsHeld) {
+        cardsHeld[shard] = -1;
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    int type = in.readInt();
+                    if (type == WIN) {
+                        claims.add(in.readInt());
+                    } else if (type == REPORT) {
+                        int first = in.readInt();
+                        int count = in.readInt();
+                        for (int p = first; p < first + count; p++) {
+                            turns[p] = in.readInt();
+                        }
+                        cardsHeld[shard] = in.readInt();
+                        return;
+                    } else {
+                        throw new IOException("Unexpected message " + type);
+                    }
+                }
+            } catch (IOException e) {
+                claims.add(-(shard + 1));
+            }
+        }, "shard-" + (shard + 1) + "-control");
+        reader.setDaemon(true);
+        reader.start();
+        return reader;
+    }
+
+
+    private static void expect(DataInputStream in, int type, String sender) throws IOException {
+        int received = in.readInt();
+        if (received != type) {
+            throw new IOException(sender + " sent message " + received + " instead of " + type);
+        }
+    }
+
+
+    /**
+     * Runs one shard: its players, the decks they draw from, and the links to the neighbouring shards.
+     *
+     * @param host the coordinator's address
+     * @param port the coordinator's port
+     * @throws IOException if the coordinator or a neighbouring shard cannot be reached
+     * @throws InterruptedException if the shard's main thread is interrupted
+     */
+    static void runShard(String host, int port) throws IOException, InterruptedException {
+        try (Socket coordinator = new Socket(host, port)) {
+            coordinator.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(coordinator.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream()));
+            ReentrantLock sendLock = new ReentrantLock(); //a player's claim and the main thread's messages share the stream
+
+            expect(in, SETUP, "Coordinator");
+            int numOfPlayers = in.readInt();
+            int first = in.readInt();
+            int count = in.readInt();
+            long seed = in.readLong();
+            String folder = in.readUTF();
+            File gameFolder = folder.isEmpty() ? null : new File(folder);
+            GameConfig config = new GameConfig()
+                    .setHeadless(gameFolder == null)
+                    .setDeckType(GameConfig.DeckType.valueOf(in.readUTF()))
+                    .setThreadMode(GameConfig.ThreadMode.valueOf(in.readUTF()))
+                    .setPacing(in.readUTF())
+                    .setLogLevel(LogLevel.valueOf(in.readUTF()))
+                    .setAsyncLogging(in.readBoolean());
+            Card.reserve(in.readInt());
+            for (int i = 0; i < count; i++) {
+                config.setStrategy(first + i + 1, DiscardStrategy.byName(in.readUTF()));
+            }
+            int[][] hands = new int[count][4];
+            int[][] deckCards = new int[count][];
+            for (int[] hand : hands) {
+                for (int c = 0; c < hand.length; c++) {
+                    hand[c] = in.readInt();
+                }
+            }
+            for (int d = 0; d < count; d++) {
+                deckCards[d] = new int[in.readInt()];
+                for (int c = 0; c < deckCards[d].length; c++) {
+                    deckCards[d][c] = in.readInt();
+                }
+            }
+            GameContext context = new GameContext(config, new SplittableRandom(seed));
+
+            Player[] players = new Player[count];
+            CardDeck[] decks = new CardDeck[count];
+            for (int i = 0; i < count; i++) {
+                decks[i] = CardGame.createDeck(first + i + 1, gameFolder, numOfPlayers, config);
+            }
+
+            try (ServerSocket cardServer = new ServerSocket(0, 1, coordinator.getLocalAddress())) {
+                sendLock.lock();
+                try {
+                    out.writeInt(PORT);
+                    out.writeInt(cardServer.getLocalPort());
+                    out.flush();
+                } finally {
+                    sendLock.unlock();
+                }
+                expect(in, PEER, "Coordinator");
+                String nextHost = in.readUTF();
+                int nextPort = in.readInt();
+                // Connecting completes against the next shard's backlog, so every shard can connect before accepting
+                Socket next = new Socket(nextHost, nextPort);
+                next.setTcpNoDelay(true);
+                cardServer.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                Socket previous = cardServer.accept();
+                previous.setTcpNoDelay(true);
+
+                RemoteDeck nextDeck = new RemoteDeck((first + count) % numOfPlayers + 1, next.getOutputStream());
+                for (int i = 0; i < count; i++) {
+                    players[i] = new Player(first + i + 1, gameFolder, decks[i], i + 1 < count ? decks[i + 1] : nextDeck, context, players);
+                }
+                for (int i = 0; i < count; i++) {
+                    for (int denom : hands[i]) {
+                        players[i].addCardToHand(Card.valueOf(denom));
+                    }
+                    players[i].logInitialHand();
+                    for (int denom : deckCards[i]) {
+                        decks[i].addCard(Card.valueOf(denom));
+                    }
+                }
+                Thread receiver = RemoteDeck.receive(previous.getInputStream(), decks[0]);
+                context.setWinClaims(player -> {
+                    sendLock.lock();
+                    try {
+                        out.writeInt(WIN);
+                        out.writeInt(player);
+                        out.flush();
+                    } catch (IOException e) {
+                        context.signalGameEnded();
+                    } finally {
+                        sendLock.unlock();
+                    }
+                });
+                sendLock.lock();
+                try {
+                    out.writeInt(READY);
+                    out.flush();
+                } finally {
+                    sendLock.unlock();
+                }
+
+                expect(in, START, "Coordinator");
+                int dealtWinner = in.readInt();
+                Thread[] playerThreads = null;
+                if (dealtWinner != 0) {
+                    context.acceptWinner(dealtWinner);
+                    if (dealtWinner > first && dealtWinner <= first + count) {
+                        players[dealtWinner - first - 1].logWin();
+                    }
+                    context.signalGameEnded();
+                } else {
+                    playerThreads = new Thread[count];
+                    for (int i = 0; i < count; i++) {
+                        playerThreads[i] = CardGame.startPlayer(players[i], config.getThreadMode());
+                    }
+                }
+
+                // Sleep until the coordinator announces the winner, which may be a player of this shard
+                try {
+                    expect(in, END, "Coordinator");
+                    context.acceptWinner(in.readInt());
+                } catch (IOException e) {
+                    context.signalGameEnded();
+                    throw e;
+                } finally {
+                    if (playerThreads != null) {
+                        CardGame.stopPlayers(context, players, playerThreads);
+                    }
+                    context.signalGameEnded();
+                }
+
+                // Pass on the last discards and take in every card still on the way here
+                nextDeck.close();
+                receiver.join(REPORT_TIMEOUT_MILLIS);
+                next.close();
+                previous.close();
+
+                int cardsHeld = 0;
+                for (Player p : players) {
+                    p.endGame();
+                    cardsHeld += p.getHandDenoms().length;
+                }
+                for (CardDeck d : decks) {
+                    cardsHeld += d.getDeckSize();
+                }
+                if (gameFolder != null && config.getLogLevel() != LogLevel.OFF) {
+                    for (CardDeck d : decks) {
+                        File deckFile = new File(gameFolder, "deck" + d.getDeckId() + "_output.txt");
+                        d.logDeckTo(context.openLog(deckFile, false, false));
+                    }
+                }
+                context.closeLogs();
+
+                sendLock.lock();
+                try {
+                    out.writeInt(REPORT);
+                    out.writeInt(first);
+                    out.writeInt(count);
+                    for (Player p : players) {
+                        out.writeInt(p.getTurnCount());
+                    }
+                    out.writeInt(cardsHeld);
+                    out.flush();
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+        }
+    }
+}
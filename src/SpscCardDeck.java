@@ -0,0 +1,202 @@
+import java.io.File;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a lock-free deck for the ring of players, where each deck has exactly one
+ * writer (the player on its left, who discards into it) and one reader (the player on its
+ * right, who draws from it). Cards live in a fixed ring and the two indices are published
+ * with release/acquire ordering instead of monitors, so draws and discards are wait-free.
+ *
+ * Only the owning producer may call addCard and only the owning consumer may call
+ * removeCard or getTopCard. Size, emptiness and string snapshots may be read from any thread.
+ *
+ * Once the game is over the consumer draws no more, so a producer that finds the ring full
+ * after endGame puts its card in an overflow list instead of waiting for room that will never
+ * come. The overflow is part of the deck's final contents, so no card is lost from the output.
+ */
+public class SpscCardDeck extends CardDeck {
+
+    private static final VarHandle INDEX = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int LONGS_PER_LINE = 8; //64-byte cache line
+    private static final int HEAD = LONGS_PER_LINE; //next slot to draw, written by the consumer
+    private static final int TAIL = 3 * LONGS_PER_LINE; //next slot to fill, written by the producer
+    private static final int SPIN_LIMIT = 100;
+
+    // Head and tail sit two cache lines apart so the producer and consumer never share a line
+    private final long[] indices = new long[4 * LONGS_PER_LINE];
+    private final Card[] cards;
+    private final int mask;
+    private long cachedHead; //producer's last view of the head
+    private long cachedTail; //consumer's last view of the tail
+    private volatile boolean ended;
+    // Cards discarded into a full ring after the game ended. Written only by the producer, as a new
+    // list each time, and read by the main thread while the producer may still be running
+    private volatile List<Card> overflow;
+
+    /**
+     * Creates a deck with room for at least the given number of cards.
+     * If the ring fills up, the producer waits for the consumer to draw rather than failing.
+     * As long as every deck in a ring holds five or more cards, the decks can never all be
+     * full at once, so players alone cannot deadlock on this wait; endGame ends it when the
+     * game does. The waiting player holds its turn lock, so anything else that takes every
+     * player's turn lock, such as a checkpoint, must not be combined with this deck.
+     */
+    public SpscCardDeck(int deckId, File gameFolder, int capacity) {
+        super(deckId, gameFolder, true);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be a positive integer.");
+        }
+        int highest = Integer.highestOneBit(capacity);
+        this.cards = new Card[highest == capacity ? capacity : highest << 1];
+        this.mask = cards.length - 1;
+    }
+
+
+    /**
+     * Returns the number of cards the ring can hold.
+     * @return the capacity of the ring
+     */
+    public int capacity() {
+        return cards.length;
+    }
+
+
+    @Override
+    public int getDeckSize() {
+        long head = (long) INDEX.getAcquire(indices, HEAD);
+        long tail = (long) INDEX.getAcquire(indices, TAIL);
+        List<Card> extra = overflow;
+        return (int) Math.max(0, Math.min(tail - head, cards.length)) + (extra != null ? extra.size() : 0);
+    }
+
+
+    /**
+     * Returns a snapshot of the cards in the deck. Changes to the list do not affect the deck.
+     * @return a copy of the cards currently in the deck
+     */
+    @Override
+    public List<Card> getDeckCards() {
+        List<Card> snapshot = new ArrayList<>();
+        long head = (long) INDEX.getAcquire(indices, HEAD);
+        long tail = (long) INDEX.getAcquire(indices, TAIL);
+        for (long i = head; i < tail; i++) {
+            Card card = cards[(int) i & mask];
+            if (card != null) {
+                snapshot.add(card);
+            }
+        }
+        List<Card> extra = overflow;
+        if (extra != null) {
+            snapshot.addAll(extra);
+        }
+        return snapshot;
+    }
+
+
+    @Override
+    public boolean isDeckEmpty() {
+        return (long) INDEX.getAcquire(indices, HEAD) == (long) INDEX.getAcquire(indices, TAIL);
+    }
+
+
+    @Override
+    public Card removeCard() {
+        long head = (long) INDEX.get(indices, HEAD);
+        if (head == cachedTail) {
+            cachedTail = (long) INDEX.getAcquire(indices, TAIL);
+            if (head == cachedTail) {
+                throw new IllegalStateException("Deck " + getDeckId() + " is empty: Cannot draw from an empty deck.");
+            }
+        }
+        int slot = (int) head & mask;
+        Card card = cards[slot];
+        cards[slot] = null;
+        INDEX.setRelease(indices, HEAD, head + 1);
+        return card;
+    }
+
+
+    @Override
+    public void addCard(Card card) {
+        long tail = (long) INDEX.get(indices, TAIL);
+        int spins = 0;
+        while (tail - cachedHead == cards.length) {
+            cachedHead = (long) INDEX.getAcquire(indices, HEAD);
+            if (tail - cachedHead == cards.length) {
+                if (ended) {
+                    // Nobody will draw again; keep the card for the deck's final contents
+                    List<Card> extra = overflow;
+                    List<Card> grown = extra != null ? new ArrayList<>(extra) : new ArrayList<>();
+                    grown.add(card);
+                    overflow = grown;
+                    return;
+                }
+                // Give the consumer the core if it is not running alongside us
+                if (++spins < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+        cards[(int) tail & mask] = card;
+        // A volatile store rather than a release, so it cannot be reordered after the waiter check
+        INDEX.setVolatile(indices, TAIL, tail + 1);
+        signalCardAdded();
+    }
+
+
+    /**
+     * Stops the producer waiting for room in a full ring, as the consumer will draw no more.
+     */
+    @Override
+    public void endGame() {
+        ended = true;
+    }
+
+
+    @Override
+    public Card getTopCard() {
+        long head = (long) INDEX.get(indices, HEAD);
+        if (head == (long) INDEX.getAcquire(indices, TAIL)) {
+            throw new IllegalStateException("Deck is empty, no top card.");
+        }
+        return cards[(int) head & mask];
+    }
+
+
+    /**
+     * Appends the denominations of the cards in the deck, space-separated, to a buffer.
+     * When read while players are running this is a best-effort snapshot.
+     * @param out the buffer to append to
+     * @return the buffer
+     */
+    @Override
+    public StringBuilder appendDeckCards(StringBuilder out) {
+        long head = (long) INDEX.getAcquire(indices, HEAD);
+        long tail = (long) INDEX.getAcquire(indices, TAIL);
+        int start = out.length();
+        for (long i = head; i < tail; i++) {
+            Card card = cards[(int) i & mask];
+            if (card != null) {
+                if (out.length() > start) {
+                    out.append(' ');
+                }
+                out.append(card.getDenom());
+            }
+        }
+        List<Card> extra = overflow;
+        if (extra != null) {
+            for (Card card : extra) {
+                if (out.length() > start) {
+                    out.append(' ');
+                }
+                out.append(card.getDenom());
+            }
+        }
+        return out.length() > start ? out : out.append("No cards in the deck");
+    }
+}
@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * This class compares discard strategies by playing many seeded games on FastGameEngine in
+ * parallel. Each game shuffles the pack with its own random stream and seats the strategies
+ * round the table, rotating them by one seat per game, so every strategy plays every seat
+ * equally often and the first-seat advantage cancels out.
+ *
+ * Game g's random stream is derived from the seed and g alone, and the games are split into
+ * one contiguous block per worker, each with its own engine and pack buffer. The results are
+ * therefore the same for any number of workers, and workers share nothing while they play.
+ *
+ * Usage: java StrategyEvaluator --players N [--games G] [--strategies first,random,pairs]
+ *        [--workers W] [--seed S] [--max-turns T] [--pack PATH]
+ */
+public class StrategyEvaluator {
+
+    private static final long GAME_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private final int[] pack;
+    private final int numOfPlayers;
+    private final long maxTurns;
+    private final int workers;
+
+    public StrategyEvaluator(int[] pack, int numOfPlayers, long maxTurns, int workers) {
+        if (pack.length != 8 * numOfPlayers) {
+            throw new IllegalArgumentException("Pack must hold exactly " + (8 * numOfPlayers) + " cards.");
+        }
+        if (maxTurns < 1 || workers < 1) {
+            throw new IllegalArgumentException("Turn limit and number of workers must be 1 or greater.");
+        }
+        this.pack = pack.clone();
+        this.numOfPlayers = numOfPlayers;
+        this.maxTurns = maxTurns;
+        this.workers = workers;
+    }
+
+
+    public static void main(String[] args) {
+        int numOfPlayers = 0;
+        long games = 100_000;
+        String names = "first,random,pairs";
+        int workers = Runtime.getRuntime().availableProcessors();
+        long seed = new SplittableRandom().nextLong();
+        long maxTurns = 100_000;
+        String packFilePath = null;
+        try {
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--players":
+                        numOfPlayers = Integer.parseInt(value);
+                        break;
+                    case "--games":
+                        games = Long.parseLong(value);
+                        break;
+                    case "--strategies":
+                        names = value;
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--max-turns":
+                        maxTurns = Long.parseLong(value);
+                        break;
+                    case "--pack":
+                        packFilePath = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (numOfPlayers < 2 || games < 1 || args.length % 2 != 0) {
+                throw new IllegalArgumentException("Usage: java StrategyEvaluator --players N [--games G] [--strategies first,random,pairs] [--workers W] [--seed S] [--max-turns T] [--pack PATH]");
+            }
+            String[] strategyNames = names.split(",");
+            DiscardStrategy[] strategies = new DiscardStrategy[strategyNames.length];
+            for (int i = 0; i < strategies.length; i++) {
+                strategies[i] = DiscardStrategy.byName(strategyNames[i]);
+            }
+            int[] pack = packFilePath == null ? standardPack(numOfPlayers) : PackReader.read(Paths.get(packFilePath), 8 * numOfPlayers);
+
+            StrategyEvaluator evaluator = new StrategyEvaluator(pack, numOfPlayers, maxTurns, workers);
+            System.out.println(evaluator.evaluate(strategyNames, strategies, games, seed));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Evaluation was interrupted.");
+        }
+    }
+
+
+    /**
+     * Returns a pack in which every player's preferred denomination, and as many others,
+     * appears four times: denominations 1 to 2N, four cards each.
+     * @param numOfPlayers the number of players
+     * @return the pack, in ascending order
+     */
+    public static int[] standardPack(int numOfPlayers) {
+        int[] pack = new int[8 * numOfPlayers];
+        for (int i = 0; i < pack.length; i++) {
+            pack[i] = i / 4 + 1;
+        }
+        return pack;
+    }
+
+
+    /**
+     * Plays the given number of games and waits for all of them to finish.
+     *
+     * @param names the strategies' names, for the report
+     * @param strategies the strategies to compare, seated in this order from seat 1 in game 0
+     * @param games the number of games to play
+     * @param seed the seed every game's random stream is derived from
+     * @return the standings of the strategies
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalStateException if a game fails
+     */
+    public StrategyReport evaluate(String[] names, DiscardStrategy[] strategies, long games, long seed) throws InterruptedException {
+        if (strategies.length == 0 || names.length != strategies.length) {
+            throw new IllegalArgumentException("Need at least one strategy, with one name per strategy.");
+        }
+        int k = strategies.length;
+        int chunks = (int) Math.min(workers, games);
+        List<Callable<long[][]>> tasks = new ArrayList<>(chunks);
+        for (int w = 0; w < chunks; w++) {
+            long from = games * w / chunks;
+            long to = games * (w + 1) / chunks;
+            tasks.add(() -> playBlock(strategies, from, to, seed));
+        }
+
+        long[] seats = new long[k];
+        long[] wins = new long[k];
+        long[] turns = new long[k];
+        long undecided = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(chunks, new TournamentRunner.WorkerFactory("strategy-worker-"));
+        long startTime = System.nanoTime();
+        try {
+            for (Future<long[][]> block : pool.invokeAll(tasks)) {
+                long[][] totals = block.get();
+                for (int s = 0; s < k; s++) {
+                    seats[s] += totals[0][s];
+                    wins[s] += totals[1][s];
+                    turns[s] += totals[2][s];
+                }
+                undecided += totals[3][0];
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A strategy game failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long wallTimeNanos = System.nanoTime() - startTime;
+        return new StrategyReport(names, games, seed, seats, wins, turns, undecided, wallTimeNanos);
+    }
+
+
+    /**
+     * Plays games from (inclusive) to to (exclusive) on this worker's engines, returning per-strategy
+     * seats, wins and game turns, and the number of undecided games.
+     */
+    private long[][] playBlock(DiscardStrategy[] strategies, long from, long to, long seed) {
+        int k = strategies.length;
+        long[][] totals = new long[4][k];
+        int[] buffer = new int[pack.length];
+        FastGameEngine[] engines = new FastGameEngine[k]; //one per rotation of the seating
+        for (int rotation = 0; rotation < engines.length; rotation++) {
+            engines[rotation] = new FastGameEngine(numOfPlayers, seating(strategies, rotation));
+        }
+
+        for (long game = from; game < to; game++) {
+            SplittableRandom random = new SplittableRandom(seed ^ (game * GAME_SEED_STRIDE));
+            CardGame.shufflePackInto(pack, buffer, random);
+            int rotation = (int) (game % k);
+            GameResult result = engines[rotation].play(buffer, maxTurns, random);
+
+            // Seat p plays strategy (p + rotation) % k
+            for (int p = 0; p < numOfPlayers; p++) {
+                int s = (p + rotation) % k;
+                totals[0][s]++;
+                totals[2][s] += result.getTotalTurns();
+            }
+            if (result.getWinner() == 0) {
+                totals[3][0]++;
+            } else {
+                totals[1][(result.getWinner() - 1 + rotation) % k]++;
+            }
+        }
+        return totals;
+    }
+
+
+    private DiscardStrategy[] seating(DiscardStrategy[] strategies, int rotation) {
+        DiscardStrategy[] seats = new DiscardStrategy[numOfPlayers];
+        for (int p = 0; p < numOfPlayers; p++) {
+            seats[p] = strategies[(p + rotation) % strategies.length];
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * This class holds the standings of discard strategies compared by StrategyEvaluator:
+ * how many seats each strategy played, how many of those it won, and how long its games were.
+ * A game's length is the number of turns taken by all of its players together.
+ */
+public class StrategyReport {
+
+    private final String[] names;
+    private final long games;
+    private final long seed;
+    private final long[] seats;
+    private final long[] wins;
+    private final long[] turns;
+    private final long undecided;
+    private final long wallTimeNanos;
+
+    StrategyReport(String[] names, long games, long seed, long[] seats, long[] wins, long[] turns,
+                   long undecided, long wallTimeNanos) {
+        this.names = names.clone();
+        this.games = games;
+        this.seed = seed;
+        this.seats = seats.clone();
+        this.wins = wins.clone();
+        this.turns = turns.clone();
+        this.undecided = undecided;
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+
+    /**
+     * Returns the number of games played.
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+
+    /**
+     * Returns the seed the games' random streams were derived from.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * Returns the number of games that reached the turn limit without a winner.
+     * @return the undecided game count
+     */
+    public long getUndecided() {
+        return undecided;
+    }
+
+
+    /**
+     * Returns how many seats the strategy played, over all games.
+     * @param strategy the strategy's index, in the order it was given to the evaluator
+     * @return the seat count
+     */
+    public long getSeats(int strategy) {
+        return seats[strategy];
+    }
+
+
+    /**
+     * Returns how many games a player using the strategy won.
+     * @param strategy the strategy's index, in the order it was given to the evaluator
+     * @return the win count
+     */
+    public long getWins(int strategy) {
+        return wins[strategy];
+    }
+
+
+    /**
+     * Returns the share of seats played with the strategy that won their game.
+     * @param strategy the strategy's index, in the order it was given to the evaluator
+     * @return the win rate per seat, between 0 and 1
+     */
+    public double getWinRate(int strategy) {
+        return seats[strategy] == 0 ? 0 : (double) wins[strategy] / seats[strategy];
+    }
+
+
+    /**
+     * Returns the mean length of the games the strategy played in, counted once per seat.
+     * @param strategy the strategy's index, in the order it was given to the evaluator
+     * @return the mean game length in turns
+     */
+    public double getMeanGameLength(int strategy) {
+        return seats[strategy] == 0 ? 0 : (double) turns[strategy] / seats[strategy];
+    }
+
+
+    /**
+     * Returns how many games were played per second of wall time.
+     * @return the game throughput
+     */
+    public double getGamesPerSecond() {
+        return wallTimeNanos == 0 ? 0 : games * 1e9 / wallTimeNanos;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games=%d seed=%d undecided=%d gamesPerSec=%.0f",
+                games, seed, undecided, getGamesPerSecond()));
+        for (int s = 0; s < names.length; s++) {
+            report.append(String.format("%n%s seats=%d wins=%d winRate=%.4f meanLength=%.1f",
+                    names[s], seats[s], wins[s], getWinRate(s), getMeanGameLength(s)));
+        }
+        return report.toString();
+    }
+}
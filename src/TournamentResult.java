@@ -0,0 +1,144 @@
+import java.util.Arrays;
+
+/**
+ * This class aggregates the outcomes of a tournament of games played with the same pack:
+ * how often each seat won, how long the games were, and how fast they were played.
+ * A game's length is the number of turns taken by all of its players together.
+ */
+public class TournamentResult {
+
+    private final long seed;
+    private final int workers;
+    private final long[] winsPerSeat;
+    private final long[] gameLengths;
+    private final long wallTimeNanos;
+
+    TournamentResult(long seed, int workers, long[] winsPerSeat, long[] gameLengths, long wallTimeNanos) {
+        this.seed = seed;
+        this.workers = workers;
+        this.winsPerSeat = winsPerSeat.clone();
+        this.gameLengths = gameLengths.clone();
+        Arrays.sort(this.gameLengths);
+        this.wallTimeNanos = wallTimeNanos;
+    }
+
+
+    /**
+     * Returns the number of games played.
+     * @return the game count
+     */
+    public int getGames() {
+        return gameLengths.length;
+    }
+
+
+    /**
+     * Returns the seed the games' random streams were split from.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * Returns how many games the player in the given seat won.
+     * @param playerNumber the seat's player number, starting at 1
+     * @return the seat's win count
+     */
+    public long getWins(int playerNumber) {
+        return winsPerSeat[playerNumber];
+    }
+
+
+    /**
+     * Returns the share of games the player in the given seat won.
+     * @param playerNumber the seat's player number, starting at 1
+     * @return the seat's win rate, between 0 and 1
+     */
+    public double getWinRate(int playerNumber) {
+        return getGames() == 0 ? 0 : (double) winsPerSeat[playerNumber] / getGames();
+    }
+
+
+    /**
+     * Returns the game length below which the given share of games finished.
+     * @param percentile the percentile, between 0 and 100
+     * @return the game length in turns
+     */
+    public long getLengthPercentile(double percentile) {
+        if (gameLengths.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * gameLengths.length) - 1;
+        return gameLengths[Math.max(0, Math.min(index, gameLengths.length - 1))];
+    }
+
+
+    /**
+     * Returns the number of turns taken in every game together.
+     * @return the total turn count
+     */
+    public long getTotalTurns() {
+        long total = 0;
+        for (long length : gameLengths) {
+            total += length;
+        }
+        return total;
+    }
+
+
+    /**
+     * Returns the number of games finished per second of wall time.
+     * @return the game throughput
+     */
+    public double getGamesPerSecond() {
+        return getGames() / (wallTimeNanos / 1_000_000_000.0);
+    }
+
+
+    /**
+     * Returns the tournament summary, the win rate of each seat, and the game lengths as
+     * percentiles and as a histogram with power-of-two buckets.
+     * @return the report, one fact per line
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("games=").append(getGames())
+                .append(" workers=").append(workers)
+                .append(" seed=").append(seed)
+                .append(" wallMs=").append(String.format("%.3f", wallTimeNanos / 1_000_000.0))
+                .append(" gamesPerSec=").append(String.format("%.0f", getGamesPerSecond()))
+                .append(" turnsPerSec=").append(String.format("%.0f", getTotalTurns() / (wallTimeNanos / 1_000_000_000.0)))
+                .append('\n');
+        for (int seat = 1; seat < winsPerSeat.length; seat++) {
+            report.append("seat=").append(seat)
+                    .append(" wins=").append(winsPerSeat[seat])
+                    .append(" winRate=").append(String.format("%.4f", getWinRate(seat)))
+                    .append('\n');
+        }
+        report.append("length p50=").append(getLengthPercentile(50))
+                .append(" p90=").append(getLengthPercentile(90))
+                .append(" p99=").append(getLengthPercentile(99))
+                .append(" max=").append(getLengthPercentile(100))
+                .append('\n');
+
+        // Histogram buckets: 0, 1, 2-3, 4-7, 8-15, ...
+        int i = 0;
+        while (i < gameLengths.length) {
+            long length = gameLengths[i];
+            long low = length == 0 ? 0 : Long.highestOneBit(length);
+            long high = length == 0 ? 0 : low * 2 - 1;
+            int count = 0;
+            while (i < gameLengths.length && gameLengths[i] <= high) {
+                count++;
+                i++;
+            }
+            report.append("length ").append(low).append('-').append(high)
+                    .append(" games=").append(count).append('\n');
+        }
+        report.setLength(report.length() - 1);
+        return report.toString();
+    }
+}
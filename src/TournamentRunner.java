@@ -0,0 +1,97 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class plays many independent headless games with the same pack in parallel on a
+ * fixed pool of worker threads, one game per worker at a time, and aggregates their results.
+ * Games share nothing but the read-only pack and settings: each has its own GameContext, and
+ * headless games keep no output files, so there is nothing for workers to contend on.
+ * Each game's random stream is split from the seed in game order, so a tournament deals the
+ * same games as a sequential headless run with the same seed.
+ */
+public class TournamentRunner {
+
+    private final int[] pack;
+    private final int numOfPlayers;
+    private final GameConfig config;
+    private final int workers;
+
+    public TournamentRunner(int[] pack, int numOfPlayers, GameConfig config, int workers) {
+        if (!config.isHeadless()) {
+            throw new IllegalArgumentException("Tournament games must be headless.");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be 1 or greater.");
+        }
+        if (pack.length != 8 * numOfPlayers) {
+            throw new IllegalArgumentException("Pack must hold exactly " + (8 * numOfPlayers) + " cards.");
+        }
+        this.pack = pack.clone();
+        this.numOfPlayers = numOfPlayers;
+        this.config = config;
+        this.workers = workers;
+    }
+
+
+    /**
+     * Plays the given number of games and waits for all of them to finish.
+     *
+     * @param games the number of games to play
+     * @param seed the seed the games' random streams are split from
+     * @return the aggregated results
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws IllegalStateException if a game fails
+     */
+    public TournamentResult run(int games, long seed) throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] winsPerSeat = new long[numOfPlayers + 1];
+        long[] gameLengths = new long[games];
+
+        // Split every game's stream up front, in game order, so results do not depend on scheduling
+        List<Callable<GameResult>> tasks = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            SplittableRandom random = seeds.split();
+            tasks.add(() -> CardGame.runGame(pack, numOfPlayers, config, random));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new WorkerFactory("tournament-worker-"));
+        long startTime = System.nanoTime();
+        try {
+            List<Future<GameResult>> results = pool.invokeAll(tasks);
+            for (int game = 0; game < games; game++) {
+                GameResult result = results.get(game).get();
+                winsPerSeat[result.getWinner()]++;
+                gameLengths[game] = result.getTotalTurns();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament game failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long wallTimeNanos = System.nanoTime() - startTime;
+        return new TournamentResult(seed, workers, winsPerSeat, gameLengths, wallTimeNanos);
+    }
+
+
+    /**
+     * Names the worker threads and makes them daemons, so an abandoned tournament cannot keep the JVM alive.
+     */
+    static final class WorkerFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
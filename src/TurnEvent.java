@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one player's turn, from drawing a card to logging the
+ * new hand. Emitted only when game metrics are on; record with -XX:StartFlightRecording.
+ */
+@Name("cardgame.Turn")
+@Label("Turn")
+@Category("Card Game")
+@Description("A player draws from its left deck and discards to its right deck")
+class TurnEvent extends jdk.jfr.Event {
+    @Label("Player")
+    int player;
+
+    @Label("Turn")
+    int turn;
+
+    @Label("Drawn Card")
+    int drawn;
+
+    @Label("Discarded Card")
+    int discarded;
+}
@@ -0,0 +1,85 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This interface decides how long a player waits between turns. The game picks one
+ * policy at start: no pacing for maximum throughput, a fixed delay for demo-speed games,
+ * or a token-bucket rate limit for a target number of turns per second.
+ */
+public interface TurnPacing {
+
+    /**
+     * Called by a player after each turn; returns once the player may take its next turn.
+     * @throws InterruptedException if the player is interrupted while waiting
+     */
+    void awaitNextTurn() throws InterruptedException;
+
+
+    /**
+     * Returns a policy that never waits.
+     * @return the no-pacing policy
+     */
+    static TurnPacing none() {
+        return () -> { };
+    }
+
+
+    /**
+     * Returns a policy that sleeps for the same time after every turn.
+     * @param delayMillis the pause after each turn in milliseconds
+     * @return the fixed-delay policy
+     */
+    static TurnPacing fixedDelay(long delayMillis) {
+        if (delayMillis <= 0) {
+            return none();
+        }
+        return () -> Thread.sleep(delayMillis);
+    }
+
+
+    /**
+     * Returns a policy that lets turns through at a steady rate. One instance can be
+     * given to a single player, or shared by every player to cap the whole game's rate.
+     * @param turnsPerSecond the target rate
+     * @return the rate-limited policy
+     */
+    static TurnPacing rateLimited(double turnsPerSecond) {
+        return new TokenBucket(turnsPerSecond, 1);
+    }
+
+
+    /**
+     * A thread-safe token bucket, implemented as the theoretical arrival time of the next
+     * token so taking a token is a single compare-and-set. Up to burst turns may run
+     * back-to-back after an idle period before the rate applies.
+     */
+    final class TokenBucket implements TurnPacing {
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong nextTokenNanos = new AtomicLong(System.nanoTime());
+
+        public TokenBucket(double turnsPerSecond, int burst) {
+            if (!(turnsPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("Rate must be positive and burst at least 1.");
+            }
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / turnsPerSecond));
+            this.burstToleranceNanos = (burst - 1) * intervalNanos;
+        }
+
+        @Override
+        public void awaitNextTurn() throws InterruptedException {
+            while (true) {
+                long now = System.nanoTime();
+                long next = nextTokenNanos.get();
+                long start = Math.max(next, now - burstToleranceNanos);
+                if (nextTokenNanos.compareAndSet(next, start + intervalNanos)) {
+                    long waitNanos = start - now;
+                    if (waitNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * This class creates virtual threads when the running JVM supports them (JDK 21 or newer).
+ * The game still compiles and runs on older JDKs; asking for a virtual thread there fails
+ * with a clear message instead.
+ */
+final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;  //Thread.ofVirtual()
+    private static final MethodHandle NAME;        //Thread.Builder.name(String)
+    private static final MethodHandle UNSTARTED;   //Thread.Builder.unstarted(Runnable)
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle unstarted = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+                    MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+        } catch (ReflectiveOperationException e) {
+            // Virtual threads are not available on this JDK
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+    }
+
+    private VirtualThreads() {
+    }
+
+
+    /**
+     * Checks if the running JVM supports virtual threads.
+     * @return true if virtual threads can be created
+     */
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+
+    /**
+     * Creates an unstarted virtual thread.
+     * @param threadName the name of the thread
+     * @param task the task the thread runs
+     * @return the new thread
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    static Thread newThread(String threadName, Runnable task) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or newer (running " + Runtime.version() + ").");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, threadName);
+            return (Thread) UNSTARTED.invoke(builder, task);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create a virtual thread.", e);
+        }
+    }
+}
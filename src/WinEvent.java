@@ -0,0 +1,20 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a player winning the game.
+ * Emitted only when game metrics are on; record with -XX:StartFlightRecording.
+ */
+@Name("cardgame.Win")
+@Label("Win")
+@Category("Card Game")
+@Description("A player holds four cards of the same denomination")
+class WinEvent extends jdk.jfr.Event {
+    @Label("Player")
+    int player;
+
+    @Label("Turns")
+    int turns;
+}
@@ -0,0 +1,81 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.file.Files;
+
+public class AsyncLogWriterTest {
+
+    private File gameFolder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the game logs
+        gameFolder = new File("test_logs_asyncLogWriterTest");
+        if (!gameFolder.exists()) {
+            gameFolder.mkdir();
+        }
+    }
+
+    // Test that closing a sink writes out every queued line in order
+    @Test
+    public void testCloseFlushesQueuedLines() throws IOException {
+        File logFile = new File(gameFolder, "player1_output.txt");
+        AsyncLogWriter writer = new AsyncLogWriter();
+        LogSink sink = writer.open(logFile, false, false);
+
+        sink.write("Player 1 draws 3 from Deck 1\n");
+        sink.write("Player 1 discards 2 to Deck 2\n");
+        sink.write("\n");
+        sink.close();
+        writer.close();
+
+        String contents = new String(Files.readAllBytes(logFile.toPath()));
+        assertEquals("Player 1 draws 3 from Deck 1\nPlayer 1 discards 2 to Deck 2\n\n", contents);
+    }
+
+    // Test that lines from several threads all reach their own files
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        AsyncLogWriter writer = new AsyncLogWriter();
+        LogSink[] sinks = new LogSink[4];
+        Thread[] threads = new Thread[sinks.length];
+        for (int i = 0; i < sinks.length; i++) {
+            sinks[i] = writer.open(new File(gameFolder, "player" + (i + 1) + "_output.txt"), false, false);
+            final LogSink sink = sinks[i];
+            threads[i] = new Thread(() -> {
+                for (int line = 0; line < 1000; line++) {
+                    sink.write(line + "\n");
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < sinks.length; i++) {
+            threads[i].join();
+            sinks[i].close();
+        }
+        writer.close();
+
+        for (int i = 0; i < sinks.length; i++) {
+            File logFile = new File(gameFolder, "player" + (i + 1) + "_output.txt");
+            assertEquals(1000, Files.readAllLines(logFile.toPath()).size());
+        }
+    }
+
+    // Test that writers wait for room in a full queue rather than losing or reordering lines
+    @Test
+    public void testBoundedQueueKeepsEveryLine() throws IOException {
+        File logFile = new File(gameFolder, "bounded_output.txt");
+        AsyncLogWriter writer = new AsyncLogWriter(4);
+        LogSink sink = writer.open(logFile, false, false);
+        StringBuilder expected = new StringBuilder();
+        for (int line = 0; line < 5000; line++) {
+            sink.write(line + "\n");
+            expected.append(line).append('\n');
+        }
+        sink.close();
+        writer.close();
+
+        assertEquals(expected.toString(), new String(Files.readAllBytes(logFile.toPath())));
+    }
+}
@@ -0,0 +1,91 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.StandardOpenOption;
+
+public class BinaryPackTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the pack files
+        folder = new File("test_logs_binaryPackTest");
+        if (!folder.exists()) {
+            folder.mkdir();
+        }
+    }
+
+    // Test that a written pack reads back with the same cards in the same order
+    @Test
+    public void testWriteThenRead() throws IOException {
+        File file = new File(folder, "pack.bin");
+        int[] pack = {1, 1, 2, 2, 3, 3, 4, 4, 0, 7, 7, 7, 7, 9, 9, 100};
+        BinaryPack.write(file.toPath(), pack);
+        assertTrue(BinaryPack.isBinaryPack(file.toPath()));
+        assertArrayEquals(pack, BinaryPack.read(file.toPath(), 16));
+    }
+
+    // Test that map() views the cards in place without copying them
+    @Test
+    public void testMapViewsCards() throws IOException {
+        File file = new File(folder, "mapped.bin");
+        BinaryPack.write(file.toPath(), new int[] {5, 6, 7});
+        IntBuffer cards = BinaryPack.map(file.toPath());
+        assertEquals(3, cards.remaining());
+        assertEquals(5, cards.get(0));
+        assertEquals(7, cards.get(2));
+        assertTrue(cards.isReadOnly());
+    }
+
+    // Test that a text pack is not mistaken for a binary pack
+    @Test
+    public void testTextPackIsNotBinary() throws IOException {
+        assertFalse(BinaryPack.isBinaryPack(new File("card-game/res/2_players.txt").toPath()));
+    }
+
+    // Test that converting with a player count below two is refused before the pack is read
+    @Test
+    public void testMainRejectsInvalidPlayerCount() {
+        File output = new File(folder, "no_players.bin");
+        output.delete();
+        for (String players : new String[] {"0", "-1", "1"}) {
+            BinaryPack.main(new String[] {"card-game/res/2_players.txt", players, output.getPath()});
+        }
+        assertFalse(output.exists());
+    }
+
+    // Test for exception thrown when the pack does not hold the expected number of cards
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadWrongSize() throws IOException {
+        File file = new File(folder, "small.bin");
+        BinaryPack.write(file.toPath(), new int[] {1, 2, 3});
+        BinaryPack.read(file.toPath(), 16);
+    }
+
+    // Test for exception thrown when a negative card is written
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteNegative() throws IOException {
+        BinaryPack.write(new File(folder, "negative.bin").toPath(), new int[] {1, -2});
+    }
+
+    // Test that a corrupted card is caught by the checksum
+    @Test
+    public void testReadCorrupted() throws IOException {
+        File file = new File(folder, "corrupt.bin");
+        BinaryPack.write(file.toPath(), new int[] {1, 2, 3, 4});
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 9), BinaryPack.HEADER_BYTES);
+        }
+        try {
+            BinaryPack.read(file.toPath(), 4);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid File: Binary pack checksum does not match in file", e.getMessage());
+        }
+    }
+}
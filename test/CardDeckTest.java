@@ -2,6 +2,7 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 import java.io.*;
+import java.util.concurrent.TimeUnit;
 
 public class CardDeckTest {
 
@@ -137,4 +138,36 @@ public class CardDeckTest {
     public void testCardNegativeDenom() {
         new Card(-1);  // This should throw an IllegalArgumentException
     }
-}
\ No newline at end of file
+
+    // Test that drawCard() gives up with null once the timeout passes on an empty deck
+    @Test
+    public void testDrawCardTimesOut() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(cardDeck.drawCard(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    // Test that a parked drawCard() is woken by addCard() from another thread
+    @Test
+    public void testDrawCardWokenByAddCard() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);  // Long enough for the drawer to park
+            } catch (InterruptedException e) {
+                return;
+            }
+            cardDeck.addCard(new Card(9));
+        });
+        producer.start();
+        Card card = cardDeck.drawCard(10, TimeUnit.SECONDS);
+        producer.join();
+        assertEquals(9, card.getDenom());
+    }
+
+    // Test for exception thrown when the waiting thread is interrupted
+    @Test(expected = InterruptedException.class)
+    public void testDrawCardInterrupted() throws InterruptedException {
+        Thread.currentThread().interrupt();
+        cardDeck.drawCard(10, TimeUnit.SECONDS);
+    }
+}
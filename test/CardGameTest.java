@@ -1,7 +1,10 @@
+import org.junit.Assume;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class CardGameTest {
 
@@ -73,4 +76,72 @@ public class CardGameTest {
         // Assuming 2 players, expected pack size should be 16
         assertTrue(CardGame.validateFile(invalidSizeWithGapHorizontal, 2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSeededShuffleIsRepeatable() {
+        int[] pack = {1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+        int[] first = CardGame.shufflePack(pack, new SplittableRandom(42));
+        int[] second = CardGame.shufflePack(pack, new SplittableRandom(42));
+        assertArrayEquals(first, second);  // Same seed, same order
+
+        int[] sorted = first.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(pack, sorted);  // Still the same cards
+    }
+
+    @Test
+    public void testNoShuffleDealsInFileOrder() throws InterruptedException {
+        // Player 1 is dealt four 1s from the top of the pack and wins before any turn is taken
+        int[] pack = {1, 2, 1, 2, 1, 2, 1, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+        GameConfig config = new GameConfig().setHeadless(true).setShuffle(false);
+        GameResult result = CardGame.runGame(pack, 2, config);
+        assertEquals(1, result.getWinner());
+        assertEquals(0, result.getTotalTurns());
+    }
+
+    @Test
+    public void testPlayersStopPromptlyAfterWin() throws InterruptedException {
+        // Player 1 draws its fourth 1 on its first turn, while the others wait out a long pacing delay
+        int[][] hands = {{1, 1, 1, 4}, {2, 5, 6, 7}, {3, 8, 9, 10}};
+        int[][] decks = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}};
+        int[] pack = new int[24];
+        for (int i = 0; i < 12; i++) {
+            pack[i] = hands[i % 3][i / 3];
+            pack[12 + i] = decks[i % 3][i / 3];
+        }
+        GameConfig config = new GameConfig().setHeadless(true).setShuffle(false).setPacing("fixed:5000");
+        GameResult result = CardGame.runGame(pack, 3, config);
+        assertEquals(1, result.getWinner());
+        assertEquals(1, result.getTurns(1));
+        assertTrue(result.getWallTimeNanos() < 2_000_000_000L);  // Woken rather than left to sleep
+    }
+
+    @Test
+    public void testOutputOptionsSelectInteractiveLogs() {
+        // Only output options keep the interactive game, with the chosen log backends
+        GameConfig config = CardGame.parseOutputOptions(new String[] {"--binary-log", "--segmented-logs", "--log-level", "turns"});
+        assertNotNull(config);
+        assertTrue(config.isBinaryEventLog());
+        assertTrue(config.isSegmentedLogs());
+        assertEquals(LogLevel.TURNS, config.getLogLevel());
+        assertNotNull(CardGame.parseOutputOptions(new String[0]));
+        assertNull(CardGame.parseOutputOptions(new String[] {"--log-level", "all", "--players", "4"}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeadlessRejectsOutputOptions() throws InterruptedException {
+        // Headless games write no files, so a log backend would silently do nothing
+        CardGame.runHeadless(new String[] {"--players", "2", "--pack", validFilePath, "--binary-log"});
+    }
+
+    @Test
+    public void testGameOnVirtualThreads() throws InterruptedException {
+        // Skipped on JDKs without virtual threads; otherwise a whole game runs with a virtual thread per player
+        Assume.assumeTrue(VirtualThreads.isSupported());
+        GameConfig config = new GameConfig().setHeadless(true).setPacing("none").setSeed(3)
+                .setThreadMode(GameConfig.ThreadMode.VIRTUAL);
+        GameResult result = CardGame.runGame(StrategyEvaluator.standardPack(8), 8, config);
+        assertTrue(result.getWinner() >= 1 && result.getWinner() <= 8);
+        assertTrue(result.getTotalTurns() > 0);
+    }
+}
@@ -5,8 +5,29 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         CardTest.class,
         PlayerTest.class,
+        HandHistogramTest.class,
+        HandTest.class,
         CardDeckTest.class,
+        CardRingBufferTest.class,
+        SpscCardDeckTest.class,
+        PackReaderTest.class,
+        BinaryPackTest.class,
+        Log2HistogramTest.class,
+        GameMetricsTest.class,
+        GameMonitorTest.class,
         CardGameTest.class,
+        GameSnapshotTest.class,
+        TournamentRunnerTest.class,
+        ShardedGameTest.class,
+        RemoteDeckTest.class,
+        FastGameEngineTest.class,
+        DiscardStrategyTest.class,
+        StrategyEvaluatorTest.class,
+        AsyncLogWriterTest.class,
+        EventLogTest.class,
+        SegmentedLogStoreTest.class,
+        LogLevelTest.class,
+        TurnPacingTest.class,
 })
 public class CardGameTestSuiteTest {
 }
\ No newline at end of file
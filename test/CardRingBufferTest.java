@@ -0,0 +1,77 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.NoSuchElementException;
+
+public class CardRingBufferTest {
+
+    private CardRingBuffer buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new CardRingBuffer(4);
+    }
+
+    // Test that the capacity is rounded up to a power of two
+    @Test
+    public void testCapacityRoundedUp() {
+        assertEquals(4, buffer.capacity());
+        assertEquals(8, new CardRingBuffer(5).capacity());
+    }
+
+    // Test that cards come out in the order they were added
+    @Test
+    public void testFifoOrder() {
+        buffer.addLast(new Card(1));
+        buffer.addLast(new Card(2));
+        buffer.addLast(new Card(3));
+
+        assertEquals(1, buffer.removeFirst().getDenom());
+        assertEquals(2, buffer.peekFirst().getDenom());
+        assertEquals(2, buffer.removeFirst().getDenom());
+        assertEquals(3, buffer.removeFirst().getDenom());
+        assertTrue(buffer.isEmpty());
+    }
+
+    // Test that the buffer keeps its order when the indices wrap around
+    @Test
+    public void testWrapAround() {
+        for (int i = 0; i < 3; i++) {
+            buffer.addLast(new Card(i));
+        }
+        buffer.removeFirst();
+        buffer.removeFirst();
+        buffer.addLast(new Card(3));
+        buffer.addLast(new Card(4));
+        buffer.addLast(new Card(5));
+
+        assertEquals(4, buffer.size());
+        assertEquals(4, buffer.capacity());  // Should not have grown
+        assertEquals("[2, 3, 4, 5]", buffer.toString());
+    }
+
+    // Test that the buffer grows when filled past its capacity
+    @Test
+    public void testGrowKeepsOrder() {
+        buffer.addLast(new Card(0));
+        buffer.removeFirst();
+        for (int i = 1; i <= 6; i++) {
+            buffer.addLast(new Card(i));
+        }
+
+        assertEquals(8, buffer.capacity());
+        assertEquals("[1, 2, 3, 4, 5, 6]", buffer.toString());
+    }
+
+    // Test for removeFirst() (exception when buffer is empty)
+    @Test(expected = NoSuchElementException.class)
+    public void testRemoveFirstWhenEmpty() {
+        buffer.removeFirst();
+    }
+
+    // Test for peekFirst() (exception when buffer is empty)
+    @Test(expected = NoSuchElementException.class)
+    public void testPeekFirstWhenEmpty() {
+        buffer.peekFirst();
+    }
+}
@@ -19,6 +19,31 @@ public class CardTest {
         assertEquals("7", result);  // Assert that the string representation of the card is "7"
     }
 
+    // Test that valueOf() returns one shared card per denomination
+    @Test
+    public void testValueOfSharesInstances() {
+        assertSame(Card.valueOf(3), Card.valueOf(3));
+        Card.reserve(new int[] {7, 5000, 12});  // As when a pack with large denominations is dealt
+        assertSame(Card.valueOf(5000), Card.valueOf(5000));
+        assertEquals(new Card(3), Card.valueOf(3));  // Cards of the same denomination are equal
+    }
+
+    // Test that denominations beyond the cache still give correct cards without growing it
+    @Test
+    public void testValueOfBeyondCache() {
+        int huge = Integer.MAX_VALUE;
+        Card.reserve(huge);  // Capped, rather than allocating a cache for every int
+        assertEquals(huge, Card.valueOf(huge).getDenom());
+        assertEquals(Card.valueOf(huge), Card.valueOf(huge));
+        assertSame(Card.valueOf(Card.MAX_CACHE_SIZE - 1), Card.valueOf(Card.MAX_CACHE_SIZE - 1));
+    }
+
+    // Test for exception thrown when valueOf() is given a negative denomination
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueOfNegativeDenom() {
+        Card.valueOf(-1);
+    }
+
     // Test for exception thrown when negative denomination is passed
     @Test(expected = IllegalArgumentException.class)
     public void testCardNegativeDenom() {
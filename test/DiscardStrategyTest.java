@@ -0,0 +1,79 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.SplittableRandom;
+
+public class DiscardStrategyTest {
+
+    private static final SplittableRandom RANDOM = new SplittableRandom(1);
+
+    // Test that the original strategy discards the first card that is not preferred
+    @Test
+    public void testFirstNonPreferred() {
+        int[] cards = {9, 2, 2, 5, 2, 7};
+        assertEquals(2, DiscardStrategy.FIRST_NON_PREFERRED.chooseDiscard(cards, 1, 5, 2, RANDOM));
+        assertEquals(0, DiscardStrategy.FIRST_NON_PREFERRED.chooseDiscard(cards, 0, 5, 2, RANDOM));
+    }
+
+    // Test that no strategy discards from a hand of only preferred cards
+    @Test
+    public void testAllPreferred() {
+        int[] cards = {3, 3, 3, 3};
+        assertEquals(-1, DiscardStrategy.FIRST_NON_PREFERRED.chooseDiscard(cards, 0, 4, 3, RANDOM));
+        assertEquals(-1, DiscardStrategy.RANDOM_NON_PREFERRED.chooseDiscard(cards, 0, 4, 3, RANDOM));
+        assertEquals(-1, DiscardStrategy.KEEP_PAIRS.chooseDiscard(cards, 0, 4, 3, RANDOM));
+    }
+
+    // Test that the random strategy only picks non-preferred cards, and reaches each of them
+    @Test
+    public void testRandomNonPreferred() {
+        int[] cards = {1, 4, 1, 6, 8};
+        boolean[] seen = new boolean[5];
+        for (int i = 0; i < 1000; i++) {
+            int index = DiscardStrategy.RANDOM_NON_PREFERRED.chooseDiscard(cards, 0, 5, 1, RANDOM);
+            assertNotEquals(1, cards[index]);
+            seen[index] = true;
+        }
+        assertTrue(seen[1] && seen[3] && seen[4]);
+    }
+
+    // Test that keeping pairs discards the rarest non-preferred denomination
+    @Test
+    public void testKeepPairs() {
+        int[] cards = {4, 4, 1, 6, 1};
+        assertEquals(3, DiscardStrategy.KEEP_PAIRS.chooseDiscard(cards, 0, 5, 1, RANDOM));
+    }
+
+    // Test that Hand passes its cards to the strategy without a copy
+    @Test
+    public void testHandChooseDiscard() {
+        Hand hand = new Hand();
+        hand.add(2);
+        hand.add(5);
+        hand.add(5);
+        hand.add(7);
+        assertEquals(3, hand.chooseDiscard(DiscardStrategy.KEEP_PAIRS, 2, RANDOM));
+    }
+
+    // Test that the built-in strategies can be looked up by name
+    @Test
+    public void testByName() {
+        assertSame(DiscardStrategy.FIRST_NON_PREFERRED, DiscardStrategy.byName("first"));
+        assertSame(DiscardStrategy.RANDOM_NON_PREFERRED, DiscardStrategy.byName("random"));
+        assertSame(DiscardStrategy.KEEP_PAIRS, DiscardStrategy.byName("pairs"));
+    }
+
+    // Test that the built-in strategies' names look them up again, and other strategies have none
+    @Test
+    public void testNameOf() {
+        for (String name : new String[] {"first", "random", "pairs"}) {
+            assertEquals(name, DiscardStrategy.nameOf(DiscardStrategy.byName(name)));
+        }
+        assertNull(DiscardStrategy.nameOf((cards, from, size, preferred, random) -> 0));
+    }
+
+    // Test for exception thrown for an unknown strategy name
+    @Test(expected = IllegalArgumentException.class)
+    public void testByNameUnknown() {
+        DiscardStrategy.byName("best");
+    }
+}
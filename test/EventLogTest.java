@@ -0,0 +1,146 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+public class EventLogTest {
+
+    private File gameFolder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the game logs
+        gameFolder = new File("test_logs_eventLogTest");
+        if (!gameFolder.exists()) {
+            gameFolder.mkdir();
+        }
+    }
+
+    // Test that converting a binary log rebuilds the same lines the text log would contain
+    @Test
+    public void testConvertRebuildsTextFiles() throws IOException {
+        File logFile = new File(gameFolder, "events.bin");
+        EventLog eventLog = new EventLog(logFile, 2);
+        EventLog.Writer player1 = eventLog.newWriter();
+        for (int denom : new int[] {1, 2, 1, 1}) {
+            player1.record(0, 1, EventLog.DEAL, denom, 0);
+        }
+        player1.record(0, 1, EventLog.INITIAL_HAND, 0, 0);
+        player1.record(0, 1, EventLog.DRAW, 1, 1);
+        player1.recordDiscard(0, 1, 2, 2, 1);  // The current hand and blank lines are rebuilt
+        player1.record(1, 1, EventLog.WINS, 0, 0);
+        player1.close();
+
+        EventLog.Writer player2 = eventLog.newWriter();
+        player2.record(0, 2, EventLog.INFORMED, 1, 0);
+        player2.record(0, 2, EventLog.EXIT, 0, 0);
+        player2.close();
+
+        EventLog.Writer decks = eventLog.newWriter();
+        decks.record(0, 0, EventLog.DECK_CONTENTS, 2, 1);
+        decks.record(0, 0, EventLog.DECK_CARD, 3, 1);
+        decks.record(0, 0, EventLog.DECK_CARD, 4, 1);
+        decks.record(0, 0, EventLog.DECK_CONTENTS, 0, 2);
+        decks.close();
+        eventLog.close();
+
+        File outputFolder = new File(gameFolder, "converted");
+        EventLogConverter.convert(logFile, outputFolder);
+
+        assertEquals("Player 1 initial hand 1 2 1 1\n"
+                + "Player 1 draws 1 from Deck 1\n"
+                + "Player 1 discards 2 to Deck 2\n"
+                + "Player 1 Current hand: 1 1 1 1\n"
+                + "\n"
+                + "Player 1 Wins\n", read(new File(outputFolder, "player1_output.txt")));
+        assertEquals("Player 1 has informed player 2 that player 1 has won\n"
+                + "Player 2 exits\n", read(new File(outputFolder, "player2_output.txt")));
+        assertEquals("deck1 contents: 3 4\n", read(new File(outputFolder, "deck1_output.txt")));
+        assertEquals("deck2 contents: No cards in the deck\n", read(new File(outputFolder, "deck2_output.txt")));
+    }
+
+    // Test that a random discard of a later duplicate is replayed from the same position in the hand
+    @Test
+    public void testConvertReplaysRandomDiscards() throws IOException {
+        File logFile = new File(gameFolder, "random.bin");
+        EventLog eventLog = new EventLog(logFile, 1);
+        EventLog.Writer player1 = eventLog.newWriter();
+        Hand hand = new Hand();
+        StringBuilder expected = new StringBuilder();
+        for (int denom : new int[] {2, 3, 2, 3}) {
+            hand.add(denom);
+            player1.record(0, 1, EventLog.DEAL, denom, 0);
+        }
+        EventLog.appendLine(expected, EventLog.INITIAL_HAND, 1, 0, 0, hand);
+        player1.record(0, 1, EventLog.INITIAL_HAND, 0, 0);
+
+        // Draw from a pack of few denominations, so hands keep holding duplicates
+        SplittableRandom random = new SplittableRandom(7);
+        for (int turn = 0; turn < 200; turn++) {
+            int drawn = 2 + random.nextInt(3);
+            hand.add(drawn);
+            player1.record(turn, 1, EventLog.DRAW, drawn, 1);
+            EventLog.appendLine(expected, EventLog.DRAW, 1, drawn, 1, hand);
+            int index = hand.chooseDiscard(DiscardStrategy.RANDOM_NON_PREFERRED, 1, random);
+            int discarded = hand.removeAt(index);
+            player1.recordDiscard(turn, 1, discarded, 2, index);
+            EventLog.appendLine(expected, EventLog.DISCARD, 1, discarded, 2, hand);
+            EventLog.appendLine(expected, EventLog.CURRENT_HAND, 1, 0, 0, hand);
+            EventLog.appendLine(expected, EventLog.BLANK, 1, 0, 0, hand);
+        }
+        player1.close();
+        eventLog.close();
+        assertEquals(EventLog.HEADER_BYTES + (5 + 2 * 200) * EventLog.RECORD_BYTES, logFile.length());  // Two records a turn
+
+        File outputFolder = new File(gameFolder, "converted_random");
+        EventLogConverter.convert(logFile, outputFolder);
+        assertEquals(expected.toString(), read(new File(outputFolder, "player1_output.txt")));
+    }
+
+    // Test for exception thrown when a hand position does not fit in a discard record
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordDiscardRejectsLargeIndex() throws IOException {
+        EventLog eventLog = new EventLog(new File(gameFolder, "large_index.bin"), 1);
+        try {
+            eventLog.newWriter().recordDiscard(0, 1, 2, 1, EventLog.MAX_HAND_INDEX + 1);
+        } finally {
+            eventLog.close();
+        }
+    }
+
+    // Test that an interrupted player flushing its buffer does not close the log for everyone
+    @Test
+    public void testInterruptedFlushKeepsLogOpen() throws IOException {
+        File logFile = new File(gameFolder, "interrupted.bin");
+        EventLog eventLog = new EventLog(logFile, 2);
+        EventLog.Writer loser = eventLog.newWriter();
+        EventLog.Writer decks = eventLog.newWriter();
+        Thread.currentThread().interrupt();
+        try {
+            for (int i = 0; i < 300; i++) {
+                loser.record(i, 2, EventLog.DRAW, 1, 2); //fills the buffer, so it is written while interrupted
+            }
+        } finally {
+            Thread.interrupted();
+        }
+        loser.close();
+        decks.record(0, 0, EventLog.DECK_CONTENTS, 0, 1);
+        decks.close();
+        eventLog.close();
+        assertEquals(EventLog.HEADER_BYTES + 301 * EventLog.RECORD_BYTES, logFile.length());
+    }
+
+    // Test that a file without the event log header is rejected
+    @Test(expected = IOException.class)
+    public void testConvertRejectsOtherFiles() throws IOException {
+        File notALog = new File(gameFolder, "not_events.bin");
+        Files.write(notALog.toPath(), "1\n2\n3\n".getBytes());
+        EventLogConverter.convert(notALog, new File(gameFolder, "converted"));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()));
+    }
+}
@@ -0,0 +1,143 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.SplittableRandom;
+
+public class FastGameEngineTest {
+
+    // Plays the same round-robin game with the real Player and CardDeck classes on one thread
+    private static GameResult playWithPlayers(int[] pack, int numOfPlayers, long maxTurns) {
+        return playWithPlayers(pack, numOfPlayers, maxTurns, new GameConfig().setHeadless(true), new SplittableRandom(0));
+    }
+
+    private static GameResult playWithPlayers(int[] pack, int numOfPlayers, long maxTurns, GameConfig config, SplittableRandom random) {
+        GameContext context = new GameContext(config, random);
+        CardDeck[] decks = new CardDeck[numOfPlayers];
+        Player[] players = new Player[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            decks[i] = new CardDeck(i + 1, null);
+        }
+        for (int i = 0; i < numOfPlayers; i++) {
+            players[i] = new Player(i + 1, null, decks[i], decks[(i + 1) % numOfPlayers], context, players);
+        }
+        for (int i = 0; i < 4 * numOfPlayers; i++) {
+            players[i % numOfPlayers].addCardToHand(new Card(pack[i]));
+        }
+        for (int i = 4 * numOfPlayers; i < 8 * numOfPlayers; i++) {
+            decks[i % numOfPlayers].addCard(new Card(pack[i]));
+        }
+
+        int[] turns = new int[numOfPlayers];
+        int winner = 0;
+        for (Player p : players) {
+            if (p.hasWon()) {
+                winner = p.getPlayerNumber();
+                break;
+            }
+        }
+        long totalTurns = 0;
+        while (winner == 0 && totalTurns < maxTurns) {
+            for (int i = 0; i < numOfPlayers && winner == 0 && totalTurns < maxTurns; i++) {
+                if (decks[i].isDeckEmpty()) {
+                    continue;
+                }
+                players[i].addCardToHand(decks[i].removeCard());
+                decks[(i + 1) % numOfPlayers].addCard(players[i].discardCard());
+                turns[i]++;
+                totalTurns++;
+                if (players[i].hasWon()) {
+                    winner = i + 1;
+                }
+            }
+        }
+        return new GameResult(winner, turns, 0);
+    }
+
+    private static int[] pack(int numOfPlayers) {
+        int[] pack = new int[8 * numOfPlayers];
+        for (int i = 0; i < pack.length; i++) {
+            pack[i] = i / 4 + 1;
+        }
+        return pack;
+    }
+
+    // Test that the engine plays exactly the same games as the player classes
+    @Test
+    public void testMatchesPlayerRules() {
+        SplittableRandom random = new SplittableRandom(2024);
+        for (int numOfPlayers : new int[] {2, 3, 5, 8}) {
+            FastGameEngine engine = new FastGameEngine(numOfPlayers);
+            for (int game = 0; game < 50; game++) {
+                int[] pack = CardGame.shufflePack(pack(numOfPlayers), random);
+                GameResult expected = playWithPlayers(pack, numOfPlayers, 100_000);
+                GameResult actual = engine.play(pack, 100_000);
+                assertEquals(expected.getWinner(), actual.getWinner());
+                for (int p = 1; p <= numOfPlayers; p++) {
+                    assertEquals(expected.getTurns(p), actual.getTurns(p));
+                }
+            }
+        }
+    }
+
+    // Test that the engine plays the same games as the player classes with per-seat strategies
+    @Test
+    public void testMatchesPlayerRulesWithStrategies() {
+        SplittableRandom random = new SplittableRandom(99);
+        DiscardStrategy[] strategies = {DiscardStrategy.RANDOM_NON_PREFERRED, DiscardStrategy.KEEP_PAIRS,
+                DiscardStrategy.FIRST_NON_PREFERRED, DiscardStrategy.RANDOM_NON_PREFERRED};
+        GameConfig config = new GameConfig().setHeadless(true);
+        for (int p = 0; p < strategies.length; p++) {
+            config.setStrategy(p + 1, strategies[p]);
+        }
+        FastGameEngine engine = new FastGameEngine(4, strategies);
+        for (int game = 0; game < 50; game++) {
+            int[] pack = CardGame.shufflePack(pack(4), random);
+            long seed = random.nextLong();
+            GameResult expected = playWithPlayers(pack, 4, 100_000, config, new SplittableRandom(seed));
+            GameResult actual = engine.play(pack, 100_000, new SplittableRandom(seed));
+            assertEquals(expected.getWinner(), actual.getWinner());
+            for (int p = 1; p <= 4; p++) {
+                assertEquals(expected.getTurns(p), actual.getTurns(p));
+            }
+        }
+    }
+
+    // Test for exception thrown when a strategy refuses to discard
+    @Test(expected = IllegalStateException.class)
+    public void testStrategyMustChooseACard() {
+        DiscardStrategy none = (cards, from, size, preferred, random) -> -1;
+        new FastGameEngine(2, new DiscardStrategy[] {none, none}).play(pack(2), 100);
+    }
+
+    // Test that a dealt four of a kind wins before any turn is taken
+    @Test
+    public void testImmediateWinner() {
+        int[] pack = {1, 2, 1, 2, 1, 2, 1, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+        GameResult result = new FastGameEngine(2).play(pack, 100);
+        assertEquals(1, result.getWinner());
+        assertEquals(0, result.getTotalTurns());
+    }
+
+    // Test that a game is called off without a winner at the turn limit
+    @Test
+    public void testTurnLimit() {
+        int[] pack = {3, 4, 3, 4, 5, 6, 5, 6, 7, 8, 7, 8, 9, 9, 9, 9};
+        GameResult result = new FastGameEngine(2).play(pack, 1);
+        assertEquals(1, result.getTotalTurns());
+    }
+
+    // Test that the fast engine can be chosen through the game config
+    @Test
+    public void testRunGameWithFastEngine() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setEngine(GameConfig.Engine.FAST).setSeed(5);
+        GameResult first = CardGame.runGame(pack(4), 4, config);
+        GameResult second = CardGame.runGame(pack(4), 4, config);
+        assertEquals(first.getWinner(), second.getWinner());  // Same seed, same game
+        assertEquals(first.getTotalTurns(), second.getTotalTurns());
+    }
+
+    // Test for exception thrown when the fast engine is asked to play a game with output files
+    @Test(expected = IllegalArgumentException.class)
+    public void testFastEngineNeedsHeadless() throws InterruptedException {
+        CardGame.runGame(pack(2), 2, new GameConfig().setEngine(GameConfig.Engine.FAST));
+    }
+}
@@ -0,0 +1,56 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class GameMetricsTest {
+
+    private static final int[] PACK = {1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+
+    // Test that the metrics count every turn the players took
+    @Test
+    public void testGameRecordsTurns() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setMetrics(true);
+        GameResult result = CardGame.runGame(PACK, 2, config);
+        GameMetrics metrics = result.getMetrics();
+        assertNotNull(metrics);
+        for (int player = 1; player <= 2; player++) {
+            assertEquals(result.getTurns(player), metrics.player(player).getTurns());
+            assertEquals(result.getTurns(player), metrics.player(player).getDraws());
+            assertEquals(result.getTurns(player), metrics.player(player).getDiscards());
+        }
+        assertEquals(result.getTotalTurns(), metrics.getTurnLatency().getCount());
+    }
+
+    // Test that a game without metrics returns none
+    @Test
+    public void testMetricsOffByDefault() throws InterruptedException {
+        GameResult result = CardGame.runGame(PACK, 2, new GameConfig().setHeadless(true));
+        assertNull(result.getMetrics());
+    }
+
+    // Test that occupancy samples build each deck's size distribution
+    @Test
+    public void testSampleOccupancy() {
+        GameMetrics metrics = new GameMetrics(2);
+        metrics.sampleOccupancy(new int[] {4, 0});
+        metrics.sampleOccupancy(new int[] {6, 0});
+        assertEquals(2, metrics.deck(1).getOccupancy().getCount());
+        assertEquals(5.0, metrics.deck(1).getOccupancy().getMean(), 1e-9);
+        assertEquals(6, metrics.deck(1).getOccupancy().getMax());
+        assertEquals(0, metrics.deck(2).getOccupancy().getMax());
+        assertEquals(0, metrics.deck(1).getLockWaits());
+    }
+
+    // Test that occupancy is sampled at a coarse interval unless the config asks for another
+    @Test
+    public void testOccupancySampleInterval() {
+        assertEquals(GameMetrics.DEFAULT_SAMPLE_MILLIS, new GameConfig().getOccupancySampleMillis());
+        assertTrue(GameMetrics.DEFAULT_SAMPLE_MILLIS >= 10);
+        assertEquals(5, new GameConfig().setOccupancySampleMillis(5).getOccupancySampleMillis());
+    }
+
+    // Test for exception thrown for an occupancy sample interval that is not positive
+    @Test(expected = IllegalArgumentException.class)
+    public void testOccupancySampleIntervalMustBePositive() {
+        new GameConfig().setOccupancySampleMillis(0);
+    }
+}
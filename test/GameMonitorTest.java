@@ -0,0 +1,107 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class GameMonitorTest {
+
+    private GameContext context;
+    private Player[] players;
+    private CardDeck[] decks;
+
+    // Create a monitored two-player game that has been dealt but not started
+    private GameMonitor newMonitor() {
+        context = new GameContext(new GameConfig().setHeadless(true).setJmx(true));
+        decks = new CardDeck[] {new CardDeck(1), new CardDeck(2)};
+        players = new Player[2];
+        players[0] = new Player(1, null, decks[0], decks[1], context, players);
+        players[1] = new Player(2, null, decks[1], decks[0], context, players);
+        for (int denom : new int[] {1, 1, 1, 2}) {
+            players[0].addCardToHand(new Card(denom));
+        }
+        for (int denom : new int[] {3, 4, 5, 6}) {
+            players[1].addCardToHand(new Card(denom));
+        }
+        decks[0].addCard(new Card(7));
+        decks[1].addCard(new Card(8));
+        decks[1].addCard(new Card(9));
+        return new GameMonitor(context, players, decks);
+    }
+
+    // Test that the readings reflect the decks and turn counts without any player running
+    @Test
+    public void testReadings() {
+        GameMonitor monitor = newMonitor();
+        players[1].restoreTurnCount(5);
+        assertArrayEquals(new int[] {1, 2}, monitor.getDeckSizes());
+        assertArrayEquals(new int[] {0, 5}, monitor.getTurns());
+        assertEquals(5, monitor.getTotalTurns());
+        assertEquals(0, monitor.getWinner());
+
+        context.declareWinner(2);
+        assertEquals(2, monitor.getLeader());
+        assertEquals(2, monitor.getWinner());
+    }
+
+    // Test that the JSON document holds every reading
+    @Test
+    public void testToJson() {
+        String json = newMonitor().toJson();
+        assertTrue(json.startsWith("{\"elapsedMillis\":"));
+        assertTrue(json.contains("\"winner\":0"));
+        assertTrue(json.contains("\"turns\":[0,0]"));
+        assertTrue(json.contains("\"deckSizes\":[1,2]"));
+        assertTrue(json.endsWith("}"));
+    }
+
+    // Test that the HTTP endpoint serves the readings on localhost until the monitor is closed
+    @Test
+    public void testHttpEndpoint() throws IOException {
+        GameMonitor monitor = newMonitor();
+        int port = monitor.startHttp(0);
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/game").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("\"deckSizes\":[1,2]"));
+            }
+        } finally {
+            monitor.close();
+        }
+    }
+
+    // Test that the MBean can be read through the platform MBean server and is gone once closed
+    @Test
+    public void testMBean() throws JMException {
+        GameMonitor monitor = newMonitor();
+        players[0].restoreTurnCount(3);
+        ObjectName name = new ObjectName("CardGame:type=GameMonitor,name=test");
+        MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+        monitor.registerMBean(name.toString());
+        try {
+            assertEquals(3L, mbeans.getAttribute(name, "TotalTurns"));
+            assertArrayEquals(new int[] {1, 2}, (int[]) mbeans.getAttribute(name, "DeckSizes"));
+        } finally {
+            monitor.close();
+        }
+        assertFalse(mbeans.isRegistered(name));
+    }
+
+    // Test that a monitored game publishes its leader and unregisters its MBean when it ends
+    @Test
+    public void testMonitoredGame() throws InterruptedException, JMException {
+        GameConfig config = new GameConfig().setHeadless(true).setNoPacing().setJmx(true).setMonitorPort(0).setSeed(5);
+        GameResult result = CardGame.runGame(StrategyEvaluator.standardPack(4), 4, config);
+        assertTrue(result.getWinner() >= 1 && result.getWinner() <= 4);
+        MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(mbeans.queryNames(new ObjectName("CardGame:type=GameMonitor,*"), null).isEmpty());
+    }
+}
@@ -0,0 +1,174 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GameSnapshotTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the checkpoint files
+        folder = new File("test_logs_gameSnapshotTest");
+        if (!folder.exists()) {
+            folder.mkdir();
+        }
+    }
+
+    private static GameSnapshot sample() {
+        int[] turns = {12, 9};
+        int[][] hands = {{1, 1, 3, 1}, {2, 4, 2, 5}};
+        int[][] decks = {{6, 7, 1}, {8, 2, 3, 4, 5}};
+        return new GameSnapshot(turns, hands, decks);
+    }
+
+    // Test that a written snapshot reads back with the same hands, decks and turns
+    @Test
+    public void testWriteThenRead() throws IOException {
+        File file = new File(folder, "game.snap");
+        sample().write(file.toPath());
+        GameSnapshot snapshot = GameSnapshot.read(file.toPath());
+
+        assertEquals(2, snapshot.getNumOfPlayers());
+        assertEquals(12, snapshot.getTurns(1));
+        assertEquals(21, snapshot.getTotalTurns());
+        assertArrayEquals(new int[] {2, 4, 2, 5}, snapshot.getHand(2));
+        assertArrayEquals(new int[] {6, 7, 1}, snapshot.getDeck(1));
+        assertFalse(new File(folder, "game.snap.tmp").exists());
+    }
+
+    // Test for exception thrown when a checkpoint has been damaged
+    @Test(expected = IllegalArgumentException.class)
+    public void testCorruptSnapshot() throws IOException {
+        File file = new File(folder, "corrupt.snap");
+        sample().write(file.toPath());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), GameSnapshot.HEADER_BYTES + 8);
+        }
+        GameSnapshot.read(file.toPath());
+    }
+
+    // Test that snapshots of a running game always hold every card exactly once
+    @Test
+    public void testCaptureIsConsistent() throws InterruptedException {
+        // Every card is unique, so nobody can win and the game runs until it is stopped
+        GameContext context = new GameContext(new GameConfig().setHeadless(true).setPacing("none"));
+        int numOfPlayers = 3;
+        CardDeck[] decks = new CardDeck[numOfPlayers];
+        Player[] players = new Player[numOfPlayers];
+        for (int i = 0; i < numOfPlayers; i++) {
+            decks[i] = new CardDeck(i + 1, null);
+        }
+        for (int i = 0; i < numOfPlayers; i++) {
+            players[i] = new Player(i + 1, null, decks[i], decks[(i + 1) % numOfPlayers], context, players);
+        }
+        for (int card = 1; card <= 8 * numOfPlayers; card++) {
+            if (card <= 4 * numOfPlayers) {
+                players[card % numOfPlayers].addCardToHand(new Card(card));
+            } else {
+                decks[card % numOfPlayers].addCard(new Card(card));
+            }
+        }
+        for (Player p : players) {
+            p.start();
+        }
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                GameSnapshot snapshot = GameSnapshot.capture(players, decks);
+                int[] cards = new int[0];
+                for (int p = 1; p <= numOfPlayers; p++) {
+                    assertEquals(4, snapshot.getHand(p).length);  // Hands only hold 5 cards mid-turn
+                    cards = concat(cards, snapshot.getHand(p));
+                    cards = concat(cards, snapshot.getDeck(p));
+                }
+                Arrays.sort(cards);
+                for (int c = 0; c < cards.length; c++) {
+                    assertEquals(c + 1, cards[c]);
+                }
+                assertEquals(8 * numOfPlayers, cards.length);
+            }
+        } finally {
+            context.signalGameEnded();
+            for (Player p : players) {
+                p.stopTurns();
+                p.join();
+            }
+        }
+    }
+
+    // Test that a resumed game continues from the saved turn counts and detects a saved win
+    @Test
+    public void testResumeWithWinningHand() throws InterruptedException {
+        int[] turns = {5, 4};
+        int[][] hands = {{1, 2, 3, 4}, {2, 2, 2, 2}};
+        int[][] decks = {{5, 6, 7, 8}, {1, 1, 1, 3, 3, 3, 4, 4}};
+        GameResult result = CardGame.resumeGame(new GameSnapshot(turns, hands, decks), new GameConfig().setHeadless(true));
+        assertEquals(2, result.getWinner());
+        assertEquals(5, result.getTurns(1));
+        assertEquals(4, result.getTurns(2));
+    }
+
+    // Test that a resumed game plays on to a winner
+    @Test
+    public void testResumePlaysToWinner() throws InterruptedException {
+        int[] turns = {3, 3};
+        int[][] hands = {{1, 1, 1, 3}, {4, 5, 6, 7}};
+        int[][] decks = {{1, 2, 2, 2}, {2, 3, 4, 5}};
+        GameResult result = CardGame.resumeGame(new GameSnapshot(turns, hands, decks), new GameConfig().setHeadless(true).setPacing("none"));
+        assertEquals(1, result.getWinner());
+        assertEquals(4, result.getTurns(1));  // Draws the fourth 1 on its first turn after resuming
+    }
+
+    // Test that resuming with lock-free decks restores a deck holding more cards than a ring normally holds
+    @Test(timeout = 10000)
+    public void testResumeOverfullSpscDeck() throws InterruptedException {
+        int numOfPlayers = 70;
+        int[] turns = new int[numOfPlayers];
+        int[][] hands = new int[numOfPlayers][];
+        int[][] decks = new int[numOfPlayers][0];
+        hands[0] = new int[] {1, 1, 1, 1};  // Wins as soon as the game resumes
+        for (int p = 1; p < numOfPlayers; p++) {
+            hands[p] = new int[] {p + 1, p + 1, p + 1, p + 2};
+        }
+        decks[0] = new int[4 * numOfPlayers];  // Every card outside the hands, more than 256
+        Arrays.fill(decks[0], 3);
+        GameConfig config = new GameConfig().setHeadless(true).setDeckType(GameConfig.DeckType.SPSC);
+        GameResult result = CardGame.resumeGame(new GameSnapshot(turns, hands, decks), config);
+        assertEquals(1, result.getWinner());
+    }
+
+    // Test for exception thrown when checkpoints are combined with lock-free decks
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckpointRejectsSpscDecks() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setDeckType(GameConfig.DeckType.SPSC)
+                .setCheckpoint(new File(folder, "spsc.snap").getPath(), 1000);
+        CardGame.runGame(StrategyEvaluator.standardPack(4), 4, config);
+    }
+
+    // Test for exception thrown when a resumed run also asks for more games, workers or shards
+    @Test
+    public void testResumeRejectsBatchOptions() throws IOException, InterruptedException {
+        File file = new File(folder, "resume.snap");
+        sample().write(file.toPath());
+        for (String[] option : new String[][] {{"--games", "5"}, {"--workers", "2"}, {"--shards", "2"}}) {
+            try {
+                CardGame.runHeadless(new String[] {"--resume", file.getPath(), option[0], option[1]});
+                fail(option[0] + " should not be accepted with --resume");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("--resume"));
+            }
+        }
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+}
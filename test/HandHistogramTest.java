@@ -0,0 +1,61 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HandHistogramTest {
+
+    private HandHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new HandHistogram();
+    }
+
+    // Test that four cards of one denomination count as four of a kind
+    @Test
+    public void testFourOfAKind() {
+        histogram.add(3);
+        histogram.add(3);
+        histogram.add(5);
+        histogram.add(3);
+        assertFalse(histogram.hasFourOfAKind());
+
+        histogram.add(3);
+        assertTrue(histogram.hasFourOfAKind());
+        assertEquals(4, histogram.count(3));
+    }
+
+    // Test that removing a card breaks four of a kind again
+    @Test
+    public void testRemoveBreaksFourOfAKind() {
+        for (int i = 0; i < 4; i++) {
+            histogram.add(2);
+        }
+        histogram.add(7);
+        histogram.remove(2);
+
+        assertFalse(histogram.hasFourOfAKind());
+        assertEquals(3, histogram.count(2));
+        assertEquals(1, histogram.count(7));
+    }
+
+    // Test that counts stay correct when denominations come and go
+    @Test
+    public void testManyDistinctDenominations() {
+        for (int denom = 0; denom < 10; denom++) {
+            histogram.add(denom);
+        }
+        histogram.remove(0);
+        histogram.remove(9);
+
+        assertEquals(0, histogram.count(0));
+        assertEquals(1, histogram.count(5));
+        assertEquals(0, histogram.count(9));
+    }
+
+    // Test for remove() (exception when the denomination is not held)
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveMissingDenomination() {
+        histogram.remove(4);
+    }
+}
@@ -0,0 +1,64 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HandTest {
+
+    private Hand hand;
+
+    @Before
+    public void setUp() {
+        hand = new Hand();
+    }
+
+    // Test that cards keep the order they were added in
+    @Test
+    public void testAddKeepsOrder() {
+        hand.add(4);
+        hand.add(1);
+        hand.add(7);
+
+        assertEquals(3, hand.size());
+        assertEquals("4 1 7", hand.appendTo(new StringBuilder()).toString());
+    }
+
+    // Test that removing a card closes the gap without reordering
+    @Test
+    public void testRemoveAt() {
+        hand.add(1);
+        hand.add(2);
+        hand.add(3);
+
+        assertEquals(2, hand.removeAt(1));
+        assertEquals("1 3", hand.appendTo(new StringBuilder()).toString());
+    }
+
+    // Test that the first card of another denomination is found
+    @Test
+    public void testIndexOfFirstOtherThan() {
+        hand.add(2);
+        hand.add(2);
+        hand.add(5);
+
+        assertEquals(2, hand.indexOfFirstOtherThan(2));
+        assertEquals(0, hand.indexOfFirstOtherThan(5));
+    }
+
+    // Test that the hand grows past five cards and still tracks four of a kind
+    @Test
+    public void testGrowAndFourOfAKind() {
+        for (int i = 0; i < 6; i++) {
+            hand.add(i % 2);
+        }
+        assertFalse(hand.hasFourOfAKind());
+        hand.add(0);
+        assertTrue(hand.hasFourOfAKind());
+        assertEquals(7, hand.size());
+    }
+
+    // Test for removeAt() (exception when the position is empty)
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveAtWhenEmpty() {
+        hand.removeAt(0);
+    }
+}
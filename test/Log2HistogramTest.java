@@ -0,0 +1,50 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class Log2HistogramTest {
+
+    // Test that count, mean and max follow the recorded values
+    @Test
+    public void testRecordSummaries() {
+        Log2Histogram histogram = new Log2Histogram();
+        for (long value : new long[] {0, 1, 2, 3, 10}) {
+            histogram.record(value);
+        }
+        assertEquals(5, histogram.getCount());
+        assertEquals(3.2, histogram.getMean(), 1e-9);
+        assertEquals(10, histogram.getMax());
+    }
+
+    // Test that a percentile returns the top of its power-of-two bucket
+    @Test
+    public void testPercentileBuckets() {
+        Log2Histogram histogram = new Log2Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(5);  // Bucket 4-7
+        }
+        histogram.record(1000);  // Bucket 512-1023
+        assertEquals(7, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(99));
+        assertEquals(1000, histogram.getPercentile(100));  // Capped at the largest value
+    }
+
+    // Test that an empty histogram reports zeros
+    @Test
+    public void testEmpty() {
+        Log2Histogram histogram = new Log2Histogram();
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    // Test that adding a histogram combines both sets of values
+    @Test
+    public void testAdd() {
+        Log2Histogram first = new Log2Histogram();
+        Log2Histogram second = new Log2Histogram();
+        first.record(4);
+        second.record(100);
+        first.add(second);
+        assertEquals(2, first.getCount());
+        assertEquals(100, first.getMax());
+    }
+}
@@ -0,0 +1,69 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class LogLevelTest {
+
+    // Test that each level includes itself and the levels below it, and nothing includes OFF lines
+    @Test
+    public void testIncludes() {
+        assertTrue(LogLevel.ALL.includes(LogLevel.SUMMARY));
+        assertTrue(LogLevel.TURNS.includes(LogLevel.TURNS));
+        assertFalse(LogLevel.TURNS.includes(LogLevel.ALL));
+        assertFalse(LogLevel.OFF.includes(LogLevel.SUMMARY));
+        assertFalse(LogLevel.ALL.includes(LogLevel.OFF));
+    }
+
+    // Test that the event mask enables the expected event types at each level
+    @Test
+    public void testEventMask() {
+        assertEquals(0, LogLevel.OFF.eventMask());
+
+        int summary = LogLevel.SUMMARY.eventMask();
+        assertTrue((summary & (1 << EventLog.INITIAL_HAND)) != 0);
+        assertTrue((summary & (1 << EventLog.WINS)) != 0);
+        assertTrue((summary & (1 << EventLog.EXIT_HAND)) != 0);
+        assertEquals(0, summary & (1 << EventLog.DRAW));
+        assertEquals(0, summary & (1 << EventLog.CURRENT_HAND));
+
+        int turns = LogLevel.TURNS.eventMask();
+        assertTrue((turns & (1 << EventLog.DRAW)) != 0);
+        assertTrue((turns & (1 << EventLog.DISCARD)) != 0);
+        assertEquals(0, turns & (1 << EventLog.BLANK));
+
+        int all = LogLevel.ALL.eventMask();
+        assertTrue((all & (1 << EventLog.CURRENT_HAND)) != 0);
+        assertTrue((all & (1 << EventLog.BLANK)) != 0);
+        assertEquals(summary, all & summary);
+        assertEquals(turns, all & turns);
+    }
+
+    // Test that lines rendered into a buffer match the lines built from strings, for every line type
+    @Test
+    public void testAppendLineMatchesFormattedLine() {
+        Hand hand = new Hand();
+        for (int denom : new int[] {3, 1, 3, 2}) {
+            hand.add(denom);
+        }
+        Hand empty = new Hand();
+        StringBuilder line = new StringBuilder();
+        for (int type = EventLog.INITIAL_HAND; type <= EventLog.EXIT_HAND; type++) {
+            for (Hand h : new Hand[] {hand, empty}) {
+                String handText = h.isEmpty() ? "No cards in the hand" : h.appendTo(new StringBuilder()).toString();
+                String expected = Player.formatLogLine(2, EventLog.describe(type, 2, 4, 3, handText));
+                line.setLength(0);
+                assertEquals("type " + type, expected, EventLog.appendLine(line, type, 2, 4, 3, h).toString());
+            }
+        }
+    }
+
+    // Test that rendering into a reused buffer keeps the deck text unchanged
+    @Test
+    public void testAppendDeckCards() {
+        CardDeck deck = new CardDeck(1);
+        assertEquals("No cards in the deck", deck.appendDeckCards(new StringBuilder()).toString());
+        deck.addCard(new Card(5));
+        deck.addCard(new Card(7));
+        assertEquals("Deck: 5 7", deck.appendDeckCards(new StringBuilder("Deck: ")).toString());
+        assertEquals("5 7", deck.getDeckCardsAsString());
+    }
+}
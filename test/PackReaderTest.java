@@ -0,0 +1,88 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class PackReaderTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the pack files
+        folder = new File("test_logs_packReaderTest");
+        if (!folder.exists()) {
+            folder.mkdir();
+        }
+    }
+
+    private File writePack(String name, String contents) throws IOException {
+        File file = new File(folder, name);
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // Test that a valid pack is read in file order, whatever the whitespace between cards
+    @Test
+    public void testReadValidPack() throws IOException {
+        File file = writePack("valid.txt", "1\n2 3\r\n\t4\n\n5\n6\n7\n8\n9\n10\n11\n12\n13\n14\n15\n16\n");
+        int[] pack = PackReader.read(file.toPath(), 16);
+        assertEquals(16, pack.length);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i + 1, pack[i]);
+        }
+    }
+
+    // Test that a negative card is rejected with the negative message
+    @Test
+    public void testReadNegative() throws IOException {
+        File file = writePack("negative.txt", "1\n-2\n3\n4\n");
+        try {
+            PackReader.read(file.toPath(), 4);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(PackReader.NEGATIVE_MESSAGE, e.getMessage());
+        }
+    }
+
+    // Test that words, symbols and numbers too large for an int are non-numeric
+    @Test
+    public void testReadNonNumeric() throws IOException {
+        for (String bad : new String[] {"abc", "4x", "-", "#", "2147483648"}) {
+            File file = writePack("nonNumeric.txt", "1\n" + bad + "\n3\n4\n");
+            try {
+                PackReader.read(file.toPath(), 4);
+                fail("Expected an IllegalArgumentException for " + bad);
+            } catch (IllegalArgumentException e) {
+                assertEquals(PackReader.NON_NUMERIC_MESSAGE, e.getMessage());
+            }
+        }
+    }
+
+    // Test that the pack size is checked after reading every card
+    @Test
+    public void testReadWrongSize() throws IOException {
+        File file = writePack("size.txt", "1 2 3 4 5\n");
+        try {
+            PackReader.read(file.toPath(), 4);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid File: Pack size too big (expected 4, found 5) in file", e.getMessage());
+        }
+        try {
+            PackReader.read(file.toPath(), 8);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid File: Pack size too small (expected 8, found 5) in file", e.getMessage());
+        }
+    }
+
+    // Test that an empty file is a pack that is too small
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadEmpty() throws IOException {
+        File file = writePack("empty.txt", "");
+        PackReader.read(file.toPath(), 4);
+    }
+}
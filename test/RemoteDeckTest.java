@@ -0,0 +1,73 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class RemoteDeckTest {
+
+    // Test that every card discarded into a remote deck reaches the local deck, in order
+    @Test
+    public void testCardsArriveInOrder() throws IOException, InterruptedException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket sending = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket receiving = server.accept()) {
+            CardDeck local = new CardDeck(2);
+            Thread receiver = RemoteDeck.receive(receiving.getInputStream(), local);
+            RemoteDeck remote = new RemoteDeck(2, sending.getOutputStream());
+
+            int cards = 3 * RemoteDeck.BATCH_CARDS + 5;
+            for (int i = 1; i <= cards; i++) {
+                remote.addCard(new Card(i));
+            }
+            remote.close();
+            receiver.join(10_000);
+
+            assertFalse(receiver.isAlive());
+            assertEquals(cards, remote.getCardsSent());
+            List<Card> received = local.getDeckCards();
+            assertEquals(cards, received.size());
+            for (int i = 0; i < cards; i++) {
+                assertEquals(i + 1, received.get(i).getDenom());
+            }
+        }
+    }
+
+    // Test that a single card is sent after the linger time, without waiting for a full batch
+    @Test
+    public void testSingleCardIsSentWithoutFullBatch() throws IOException, InterruptedException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket sending = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket receiving = server.accept()) {
+            CardDeck local = new CardDeck(1);
+            RemoteDeck.receive(receiving.getInputStream(), local);
+            RemoteDeck remote = new RemoteDeck(1, sending.getOutputStream());
+
+            remote.addCard(new Card(7));
+            assertEquals(7, local.drawCard(10, TimeUnit.SECONDS).getDenom());
+            remote.close();
+        }
+    }
+
+    // Test for exception thrown when drawing from a deck in another process
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveCardFails() throws InterruptedException {
+        RemoteDeck remote = new RemoteDeck(1, new ByteArrayOutputStream());
+        try {
+            remote.removeCard();
+        } finally {
+            remote.close();
+        }
+    }
+
+    // Test for exception thrown when discarding after the deck is closed
+    @Test(expected = IllegalStateException.class)
+    public void testAddCardAfterClose() throws InterruptedException {
+        RemoteDeck remote = new RemoteDeck(1, new ByteArrayOutputStream());
+        remote.close();
+        remote.addCard(new Card(1));
+    }
+}
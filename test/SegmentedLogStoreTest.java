@@ -0,0 +1,134 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.nio.file.Files;
+
+public class SegmentedLogStoreTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() {
+        // Create a fresh temporary folder for the store
+        folder = new File("test_logs_segmentedLogStoreTest");
+        if (!folder.exists()) {
+            folder.mkdir();
+        }
+        for (File file : folder.listFiles()) {
+            file.delete();
+        }
+    }
+
+    // Test that exported files hold exactly the text written to each stream
+    @Test
+    public void testExportRebuildsFiles() throws IOException {
+        SegmentedLogStore store = new SegmentedLogStore(folder);
+        LogSink player1 = store.open("player1_output.txt", false);
+        LogSink player2 = store.open("player2_output.txt", false);
+        player1.write("Player 1 initial hand 1 2 3 4\n");
+        player2.write("Player 2 initial hand 5 6 7 8\n");
+        player1.write("Player 1 draws 1 from Deck 1\n");
+        player1.close();
+        LogSink deck1 = store.open("deck1_output.txt", false);
+        deck1.write("deck1 contents: 9 9\n");
+        store.close();  // Closes player2 and deck1 as well
+
+        File out = new File(folder, "export");
+        SegmentedLogStore.export(folder, out);
+        assertEquals("Player 1 initial hand 1 2 3 4\nPlayer 1 draws 1 from Deck 1\n", read(new File(out, "player1_output.txt")));
+        assertEquals("Player 2 initial hand 5 6 7 8\n", read(new File(out, "player2_output.txt")));
+        assertEquals("deck1 contents: 9 9\n", read(new File(out, "deck1_output.txt")));
+    }
+
+    // Test that long interleaved streams survive many chunks and segment roll-overs
+    @Test
+    public void testManyChunksAcrossSegments() throws IOException {
+        SegmentedLogStore store = new SegmentedLogStore(folder, 4096);
+        int streams = 50;
+        LogSink[] sinks = new LogSink[streams];
+        StringBuilder[] expected = new StringBuilder[streams];
+        for (int i = 0; i < streams; i++) {
+            sinks[i] = store.open("player" + (i + 1) + "_output.txt", false);
+            expected[i] = new StringBuilder();
+        }
+        for (int line = 0; line < 200; line++) {
+            for (int i = 0; i < streams; i++) {
+                String text = "Player " + (i + 1) + " draws " + line + " from Deck " + (i + 1) + "\n";
+                sinks[i].write(text);
+                expected[i].append(text);
+            }
+        }
+        store.close();
+
+        assertTrue(new File(folder, SegmentedLogStore.segmentName(10)).exists());  // Rolled over many times
+        SegmentedLogStore.export(folder, folder);
+        for (int i = 0; i < streams; i++) {
+            assertEquals(expected[i].toString(), read(new File(folder, "player" + (i + 1) + "_output.txt")));
+        }
+    }
+
+    // Test that a stream opened again under the same name is appended to
+    @Test
+    public void testReopenedNameAppends() throws IOException {
+        SegmentedLogStore store = new SegmentedLogStore(folder);
+        LogSink first = store.open("player1_output.txt", false);
+        first.write("a\n");
+        first.close();
+        store.open("player1_output.txt", false).write("b\n");
+        store.close();
+
+        SegmentedLogStore.export(folder, folder);
+        assertEquals("a\nb\n", read(new File(folder, "player1_output.txt")));
+    }
+
+    // Test that a stream flushed from an interrupted thread does not close the segment for the others
+    @Test
+    public void testInterruptedFlushKeepsSegmentOpen() throws IOException {
+        SegmentedLogStore store = new SegmentedLogStore(folder, 512);  // Small segments, so the loser's chunks are written out
+        LogSink loser = store.open("player2_output.txt", false);
+        LogSink deck = store.open("deck1_output.txt", false);
+        StringBuilder expected = new StringBuilder();
+        Thread.currentThread().interrupt();
+        try {
+            for (int line = 0; line < 50; line++) {
+                String text = "Player 2 draws " + line + " from Deck 2\n";  // Fills the buffer while interrupted
+                loser.write(text);
+                expected.append(text);
+            }
+        } finally {
+            Thread.interrupted();
+        }
+        loser.close();
+        deck.write("deck1 contents: 1 2 3 4\n");
+        store.close();
+
+        SegmentedLogStore.export(folder, folder);
+        assertEquals(expected.toString(), read(new File(folder, "player2_output.txt")));
+        assertEquals("deck1 contents: 1 2 3 4\n", read(new File(folder, "deck1_output.txt")));
+    }
+
+    // Test that a game configured for segmented logs opens its output files as streams
+    @Test
+    public void testContextOpensStreams() throws IOException {
+        GameContext context = new GameContext(new GameConfig().setSegmentedLogs(true));
+        LogSink sink = context.openLog(new File(folder, "player1_output.txt"), true, false);
+        sink.write("Player 1 initial hand 1 1 1 1\n");
+        sink.close();
+        context.closeLogs();
+
+        assertFalse(new File(folder, "player1_output.txt").exists());
+        SegmentedLogStore.export(folder, folder);
+        assertEquals("Player 1 initial hand 1 1 1 1\n", read(new File(folder, "player1_output.txt")));
+    }
+
+    // Test for exception thrown when the folder holds no store
+    @Test(expected = IOException.class)
+    public void testExportWithoutStore() throws IOException {
+        SegmentedLogStore.export(new File(folder, "missing"), folder);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()));
+    }
+}
@@ -0,0 +1,64 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ShardedGameTest {
+
+    // Test that a game split across processes ends with one winner and every player's turns counted
+    @Test
+    public void testShardedGameHasOneWinner() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setNoPacing().setSeed(11);
+        GameResult result = ShardedGame.run(StrategyEvaluator.standardPack(8), 8, 3, config);
+        assertEquals(8, result.getNumOfPlayers());
+        assertTrue(result.getWinner() >= 1 && result.getWinner() <= 8);
+        assertTrue(result.getTotalTurns() > 0);
+    }
+
+    // Test that a hand dealt as four of a kind wins before any shard plays a turn
+    @Test
+    public void testDealtWinnerEndsEveryShard() throws InterruptedException {
+        int[] pack = {1, 2, 3, 4, 1, 2, 3, 4, 1, 2, 3, 5, 1, 2, 3, 6,
+                      5, 5, 5, 6, 6, 6, 4, 4, 7, 7, 7, 7, 8, 8, 8, 8};
+        GameConfig config = new GameConfig().setHeadless(true).setNoPacing().setShuffle(false);
+        GameResult result = ShardedGame.run(pack, 4, 2, config);
+        assertEquals(1, result.getWinner());
+        assertEquals(0, result.getTotalTurns());
+    }
+
+    // Test that a game with a different strategy per seat plays across shards
+    @Test
+    public void testSeatStrategiesReachShards() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setNoPacing().setSeed(5)
+                .setStrategy(DiscardStrategy.RANDOM_NON_PREFERRED)
+                .setStrategy(2, DiscardStrategy.KEEP_PAIRS);
+        GameResult result = ShardedGame.run(StrategyEvaluator.standardPack(6), 6, 2, config);
+        assertTrue(result.getWinner() >= 1 && result.getWinner() <= 6);
+    }
+
+    // Test for exception thrown when a seat's strategy cannot be sent to a shard by name
+    @Test(expected = IllegalArgumentException.class)
+    public void testCustomStrategyIsRejected() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true)
+                .setStrategy(3, (cards, from, size, preferred, random) -> size - 1);
+        ShardedGame.run(StrategyEvaluator.standardPack(4), 4, 2, config);
+    }
+
+    // Test for exception thrown when there are more shards than players
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyShards() throws InterruptedException {
+        ShardedGame.run(StrategyEvaluator.standardPack(2), 2, 3, new GameConfig().setHeadless(true));
+    }
+
+    // Test for exception thrown when the game would need output the shards cannot share
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinaryEventLogIsRejected() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setBinaryEventLog(true);
+        ShardedGame.run(StrategyEvaluator.standardPack(4), 4, 2, config);
+    }
+
+    // Test for exception thrown when the game asks for a live monitor, which no shard would serve
+    @Test(expected = IllegalArgumentException.class)
+    public void testMonitoringIsRejected() throws InterruptedException {
+        GameConfig config = new GameConfig().setHeadless(true).setMonitorPort(0);
+        ShardedGame.run(StrategyEvaluator.standardPack(4), 4, 2, config);
+    }
+}
@@ -0,0 +1,111 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+public class SpscCardDeckTest {
+
+    private SpscCardDeck cardDeck;
+    private File gameFolder;
+
+    @Before
+    public void setUp() {
+        // Create a temporary folder for the game logs
+        gameFolder = new File("test_logs_spscCardDeckTest");
+        if (!gameFolder.exists()) {
+            gameFolder.mkdir();
+        }
+
+        cardDeck = new SpscCardDeck(1, gameFolder, 4);
+    }
+
+    // Test that cards are drawn in the order they were discarded
+    @Test
+    public void testFifoOrder() {
+        cardDeck.addCard(new Card(3));
+        cardDeck.addCard(new Card(5));
+
+        assertEquals(2, cardDeck.getDeckSize());
+        assertEquals(3, cardDeck.getTopCard().getDenom());
+        assertEquals(3, cardDeck.removeCard().getDenom());
+        assertEquals(5, cardDeck.removeCard().getDenom());
+        assertTrue(cardDeck.isDeckEmpty());
+    }
+
+    // Test for removeCard() (exception when deck is empty)
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveCardWhenEmpty() {
+        cardDeck.removeCard();
+    }
+
+    // Test for getDeckCardsAsString() after the indices have wrapped around the ring
+    @Test
+    public void testGetDeckCardsAsStringAfterWrap() {
+        assertEquals("No cards in the deck", cardDeck.getDeckCardsAsString());
+        for (int i = 0; i < 6; i++) {
+            cardDeck.addCard(new Card(i));
+            if (i < 3) {
+                cardDeck.removeCard();
+            }
+        }
+        assertEquals("3 4 5", cardDeck.getDeckCardsAsString());
+    }
+
+    // Test that one producer and one consumer pass every card through in order
+    @Test
+    public void testProducerConsumerThreads() throws InterruptedException {
+        final int cardCount = 100000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < cardCount; i++) {
+                cardDeck.addCard(new Card(i));
+            }
+        });
+        producer.start();
+
+        for (int expected = 0; expected < cardCount; expected++) {
+            while (cardDeck.isDeckEmpty()) {
+                Thread.yield();
+            }
+            assertEquals(expected, cardDeck.removeCard().getDenom());
+        }
+        producer.join();
+        assertTrue(cardDeck.isDeckEmpty());
+    }
+
+    // Test that one producer and one blocking consumer pass every card through in order
+    @Test
+    public void testProducerBlockingConsumerThreads() throws InterruptedException {
+        final int cardCount = 100000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < cardCount; i++) {
+                cardDeck.addCard(new Card(i));
+            }
+        });
+        producer.start();
+
+        for (int expected = 0; expected < cardCount; expected++) {
+            assertEquals(expected, cardDeck.drawCard(10, TimeUnit.SECONDS).getDenom());
+        }
+        producer.join();
+        assertTrue(cardDeck.isDeckEmpty());
+    }
+
+    // Test that a producer waiting on a full ring stops once the game ends, keeping its card
+    @Test
+    public void testEndGameReleasesProducerOnFullRing() throws InterruptedException {
+        for (int i = 0; i < cardDeck.capacity(); i++) {
+            cardDeck.addCard(new Card(i));
+        }
+        Thread producer = new Thread(() -> cardDeck.addCard(new Card(9)));
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());  // Still waiting for the consumer
+
+        cardDeck.endGame();
+        producer.join(10000);
+        assertFalse(producer.isAlive());
+        assertEquals(5, cardDeck.getDeckSize());
+        assertEquals("0 1 2 3 9", cardDeck.getDeckCardsAsString());
+    }
+}
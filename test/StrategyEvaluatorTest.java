@@ -0,0 +1,49 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class StrategyEvaluatorTest {
+
+    private static final String[] NAMES = {"first", "random", "pairs"};
+    private static final DiscardStrategy[] STRATEGIES = {
+            DiscardStrategy.FIRST_NON_PREFERRED, DiscardStrategy.RANDOM_NON_PREFERRED, DiscardStrategy.KEEP_PAIRS};
+
+    // Test that every game is counted once and every strategy plays the same number of seats
+    @Test
+    public void testEvaluateCountsEveryGame() throws InterruptedException {
+        StrategyEvaluator evaluator = new StrategyEvaluator(StrategyEvaluator.standardPack(3), 3, 100_000, 2);
+        StrategyReport report = evaluator.evaluate(NAMES, STRATEGIES, 300, 11);
+        assertEquals(300, report.getGames());
+        long wins = report.getUndecided();
+        for (int s = 0; s < NAMES.length; s++) {
+            assertEquals(300, report.getSeats(s));
+            wins += report.getWins(s);
+        }
+        assertEquals(300, wins);
+    }
+
+    // Test that the results depend on the seed only, not on the number of workers
+    @Test
+    public void testResultsIndependentOfWorkers() throws InterruptedException {
+        int[] pack = StrategyEvaluator.standardPack(4);
+        StrategyReport one = new StrategyEvaluator(pack, 4, 100_000, 1).evaluate(NAMES, STRATEGIES, 200, 3);
+        StrategyReport three = new StrategyEvaluator(pack, 4, 100_000, 3).evaluate(NAMES, STRATEGIES, 200, 3);
+        for (int s = 0; s < NAMES.length; s++) {
+            assertEquals(one.getSeats(s), three.getSeats(s));
+            assertEquals(one.getWins(s), three.getWins(s));
+            assertEquals(one.getMeanGameLength(s), three.getMeanGameLength(s), 0.0);
+        }
+    }
+
+    // Test that the standard pack holds each denomination from 1 to 2N four times
+    @Test
+    public void testStandardPack() {
+        int[] pack = StrategyEvaluator.standardPack(2);
+        assertArrayEquals(new int[] {1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4}, pack);
+    }
+
+    // Test for exception thrown when the pack does not fit the number of players
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongPackSize() {
+        new StrategyEvaluator(new int[8], 2, 100, 1);
+    }
+}
@@ -0,0 +1,35 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TournamentRunnerTest {
+
+    private static final int[] PACK = {1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+
+    // Test that every game is counted once, with exactly one winner per game
+    @Test
+    public void testRunCountsEveryGame() throws InterruptedException {
+        TournamentRunner runner = new TournamentRunner(PACK, 2, new GameConfig().setHeadless(true), 4);
+        TournamentResult result = runner.run(50, 7);
+        assertEquals(50, result.getGames());
+        assertEquals(50, result.getWins(1) + result.getWins(2));
+        assertEquals(7, result.getSeed());
+        assertTrue(result.getLengthPercentile(50) <= result.getLengthPercentile(100));
+    }
+
+    // Test that an unshuffled pack dealing four of a kind makes seat 1 win every game at once
+    @Test
+    public void testRunWithImmediateWinner() throws InterruptedException {
+        int[] pack = {1, 2, 1, 2, 1, 2, 1, 2, 3, 3, 3, 3, 4, 4, 4, 4};
+        GameConfig config = new GameConfig().setHeadless(true).setShuffle(false);
+        TournamentResult result = new TournamentRunner(pack, 2, config, 2).run(10, 1);
+        assertEquals(1.0, result.getWinRate(1), 0.0);
+        assertEquals(0, result.getTotalTurns());
+        assertEquals(0, result.getLengthPercentile(99));
+    }
+
+    // Test for exception thrown when the games would write console output and files
+    @Test(expected = IllegalArgumentException.class)
+    public void testRunnerNeedsHeadlessGames() {
+        new TournamentRunner(PACK, 2, new GameConfig(), 2);
+    }
+}
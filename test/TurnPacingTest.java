@@ -0,0 +1,43 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TurnPacingTest {
+
+    // Test that no pacing never waits
+    @Test
+    public void testNoneDoesNotWait() throws InterruptedException {
+        TurnPacing pacing = TurnPacing.none();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100000; i++) {
+            pacing.awaitNextTurn();
+        }
+        assertTrue("No pacing should not sleep", System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    // Test that a rate limit spaces turns out to the target rate
+    @Test
+    public void testRateLimitedSpacesTurns() throws InterruptedException {
+        TurnPacing pacing = TurnPacing.rateLimited(200);  // One turn every 5 ms
+        long start = System.nanoTime();
+        for (int i = 0; i < 21; i++) {
+            pacing.awaitNextTurn();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("21 turns at 200 per second should take about 100 ms, took " + elapsedMillis, elapsedMillis >= 90);
+    }
+
+    // Test for setPacing() (exception for an unknown description)
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPacingSpec() {
+        new GameConfig().setPacing("fast");
+    }
+
+    // Test that a pacing description selects the matching policy
+    @Test
+    public void testPacingSpec() {
+        GameConfig config = new GameConfig().setPacing("game-rate:50");
+        assertEquals(GameConfig.Pacing.RATE_PER_GAME, config.getPacing());
+        assertEquals(50.0, config.getTurnsPerSecond(), 0.0);
+        assertEquals(GameConfig.Pacing.FIXED_DELAY, config.setPacing("fixed:20").getPacing());
+    }
+}